@@ -0,0 +1,155 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class compares a JMH result file in JSON format with the baseline and prints the relative change of the
+ * score and of the normalized allocation rate (<code>gc.alloc.rate.norm</code> of the GC profiler) of each benchmark.
+ * It exits with status <code>1</code> if a benchmark regressed by more than the threshold.
+ * <p>
+ * Usage: <code>java -cp target/benchmarks.jar com.github.mavenhaus.mojo.starter.resolve.BaselineComparison
+ * baseline.json target/jmh-result.json [threshold in percent, defaults to 10]</code>
+ */
+public final class BaselineComparison {
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  private static final double DEFAULT_THRESHOLD = 10.0;
+
+  /**
+   * Creates a new instance of {@link BaselineComparison}.
+   */
+  private BaselineComparison() {
+    super();
+  }
+
+  /**
+   * Compares the result file with the baseline.
+   *
+   * @param args the baseline file, the result file and the optional threshold in percent.
+   * @throws IOException if a file cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [threshold%]");
+      System.exit(2);
+    }
+    Map<String, JsonObject> baseline = read(args[0]);
+    Map<String, JsonObject> result = read(args[1]);
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+    int regressions = 0;
+    System.out.println(String.format(Locale.ROOT, "%-90s %14s %14s %9s %14s %9s",
+        "Benchmark", "Baseline", "Result", "Score", "Alloc B/op", "Alloc"));
+    for (Map.Entry<String, JsonObject> entry : result.entrySet()) {
+      JsonObject base = baseline.get(entry.getKey());
+      if (base == null) {
+        System.out.println(String.format(Locale.ROOT, "%-90s %14s", entry.getKey(), "new"));
+        continue;
+      }
+      double baseScore = getScore(base, null);
+      double score = getScore(entry.getValue(), null);
+      double scoreChange = change(baseScore, score);
+      double baseAllocation = getScore(base, ALLOCATION_METRIC);
+      double allocation = getScore(entry.getValue(), ALLOCATION_METRIC);
+      double allocationChange = change(baseAllocation, allocation);
+
+      boolean regressed = scoreChange > threshold || allocationChange > threshold;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.println(String.format(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%% %14.0f %+8.1f%%%s",
+          entry.getKey(), baseScore, score, scoreChange, allocation, allocationChange, regressed ? " REGRESSION" : ""));
+    }
+
+    System.out.println(regressions + " regression(s) above " + threshold + "%");
+    if (regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Reads a JMH result file keyed by the benchmark name and its parameters.
+   *
+   * @param file the JMH result file in JSON format.
+   * @return the results keyed by benchmark name and parameters.
+   * @throws IOException if the file cannot be read.
+   */
+  private static Map<String, JsonObject> read(String file) throws IOException {
+    Map<String, JsonObject> results = new LinkedHashMap<>();
+    try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+      JsonArray array = JsonParser.parseReader(reader).getAsJsonArray();
+      for (JsonElement element : array) {
+        JsonObject result = element.getAsJsonObject();
+        String name = result.get("benchmark").getAsString();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        Map<String, String> params = new TreeMap<>();
+        if (result.has("params")) {
+          for (Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+            params.put(param.getKey(), param.getValue().getAsString());
+          }
+        }
+        results.put(params.isEmpty() ? name : name + params, result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Returns the score of the primary metric or of the given secondary metric.
+   *
+   * @param result the result of a benchmark.
+   * @param metric the secondary metric or <code>null</code> for the primary metric.
+   * @return the score or {@link Double#NaN} if not available.
+   */
+  private static double getScore(JsonObject result, String metric) {
+    JsonObject scores;
+    if (metric == null) {
+      scores = result.getAsJsonObject("primaryMetric");
+    } else if (result.has("secondaryMetrics") && result.getAsJsonObject("secondaryMetrics").has(metric)) {
+      scores = result.getAsJsonObject("secondaryMetrics").getAsJsonObject(metric);
+    } else {
+      return Double.NaN;
+    }
+    return scores.get("score").getAsDouble();
+  }
+
+  private static double change(double baseline, double value) {
+    if (Double.isNaN(baseline) || Double.isNaN(value) || baseline == 0) {
+      return Double.NaN;
+    }
+    return (value - baseline) / baseline * 100;
+  }
+
+}
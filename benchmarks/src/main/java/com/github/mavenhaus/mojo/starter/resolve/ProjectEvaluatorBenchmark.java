@@ -0,0 +1,159 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class benchmarks the creation of an expression evaluator for a project of the reactor followed by the
+ * evaluation of a few expressions, as done for each project by <code>starter:resolve</code>.
+ * The {@link ProjectEvaluator} bound to the project is compared with the former evaluator creation switching the
+ * current project of the shared session under its lock. Run it with <code>-t 1</code>, <code>-t 2</code>,
+ * <code>-t 4</code>, ... : the throughput of a lock-free evaluator grows linearly with the number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectEvaluatorBenchmark {
+
+  private static final int PROJECTS = 64;
+
+  private static final String[] EXPRESSIONS = {
+      "${project.groupId}", "${project.artifactId}", "${project.version}", "${project.basedir}"
+  };
+
+  private MavenSession session;
+
+  private MojoExecution mojoExecution;
+
+  private List<MavenProject> projects;
+
+  /**
+   * The project index of a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class ProjectIndex {
+
+    private int next;
+
+    /**
+     * Returns the next project index.
+     *
+     * @return the next project index.
+     */
+    int next() {
+      next = (next + 1) % PROJECTS;
+      return next;
+    }
+  }
+
+  /**
+   * Creates the session and the projects of the reactor.
+   */
+  @Setup(Level.Trial)
+  @SuppressWarnings("deprecation")
+  public void setUp() {
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    request.setSystemProperties(new Properties());
+    request.setUserProperties(new Properties());
+    session = new MavenSession(null, null, request, new DefaultMavenExecutionResult());
+
+    projects = new ArrayList<>(PROJECTS);
+    for (int i = 0; i < PROJECTS; i++) {
+      Model model = new Model();
+      model.setGroupId("com.github.mavenhaus.benchmark");
+      model.setArtifactId("module-" + i);
+      model.setVersion("1.0.0");
+      MavenProject project = new MavenProject(model);
+      project.setFile(new File("module-" + i, "pom.xml").getAbsoluteFile());
+      projects.add(project);
+    }
+    session.setProjects(projects);
+    session.setCurrentProject(projects.get(0));
+
+    mojoExecution = new MojoExecution(new MojoDescriptor());
+  }
+
+  /**
+   * Benchmarks the {@link ProjectEvaluator} bound to the project.
+   *
+   * @param index the project index of the thread.
+   * @param blackhole the {@link Blackhole} consuming the values.
+   * @throws ExpressionEvaluationException if anything goes wrong.
+   */
+  @Benchmark
+  public void projectBound(ProjectIndex index, Blackhole blackhole) throws ExpressionEvaluationException {
+    ProjectEvaluator evaluator = new ProjectEvaluator(session, projects.get(index.next()), mojoExecution);
+    for (String expression : EXPRESSIONS) {
+      blackhole.consume(evaluator.evaluate(expression));
+    }
+  }
+
+  /**
+   * Benchmarks the former evaluator creation switching the current project of the shared session under its lock.
+   *
+   * @param index the project index of the thread.
+   * @param blackhole the {@link Blackhole} consuming the values.
+   * @throws ExpressionEvaluationException if anything goes wrong.
+   */
+  @Benchmark
+  public void sessionSwitching(ProjectIndex index, Blackhole blackhole) throws ExpressionEvaluationException {
+    PluginParameterExpressionEvaluator evaluator;
+    synchronized (session) {
+      MavenProject currentProject = session.getCurrentProject();
+      session.setCurrentProject(projects.get(index.next()));
+      evaluator = new PluginParameterExpressionEvaluator(session, mojoExecution);
+      session.setCurrentProject(currentProject);
+    }
+    for (String expression : EXPRESSIONS) {
+      blackhole.consume(evaluator.evaluate(expression));
+    }
+  }
+
+}
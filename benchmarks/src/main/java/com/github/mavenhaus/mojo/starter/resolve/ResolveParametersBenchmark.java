@@ -0,0 +1,111 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class benchmarks the resolution of the parameters of a serialized {@link SyntheticPom} by the
+ * {@link ParameterResolvingWriter} with a growing number of {@link Matcher matchers}.
+ * The additional matchers are a mix of literal, prefix and regular expression patterns never matching, placed before
+ * the matchers of the starter {@link com.github.mavenhaus.mojo.starter.resolve.Mode mode}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolveParametersBenchmark {
+
+  /**
+   * The total number of matchers.
+   */
+  @Param({"5", "50", "500"})
+  public int matchers;
+
+  private MatcherSet matcherSet;
+
+  /**
+   * Compiles the matchers.
+   *
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws MojoExecutionException {
+    List<Matcher> starterMatchers = com.github.mavenhaus.mojo.starter.resolve.Mode.starter.getMatchers();
+    List<Matcher> effectiveMatchers = new ArrayList<>(Math.max(matchers, starterMatchers.size()));
+    for (int i = starterMatchers.size(); i < matchers; i++) {
+      switch (i % 3) {
+        case 0:
+          effectiveMatchers.add(new Matcher("extra.literal" + i, Action.keep));
+          break;
+        case 1:
+          effectiveMatchers.add(new Matcher("extra.prefix" + i + ".~*", Action.keep));
+          break;
+        default:
+          effectiveMatchers.add(new Matcher("extra.regex" + i + ".[a-z]+", Action.keep));
+          break;
+      }
+    }
+    effectiveMatchers.addAll(starterMatchers);
+    matcherSet = MatcherSet.compile(effectiveMatchers);
+  }
+
+  /**
+   * Benchmarks the resolution of the parameters of the serialized model.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @param blackhole the {@link Blackhole} consuming the content.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public void resolveParameters(SyntheticPom pom, Blackhole blackhole) throws IOException {
+    Map<String, String> values = pom.getValues();
+    ParameterResolvingWriter writer = new ParameterResolvingWriter(new BlackholeWriter(blackhole), expression -> {
+      int index = matcherSet.indexOf(expression.substring(2, expression.length() - 1));
+      if (index == MatcherSet.NO_MATCH || matcherSet.getAction(index) != Action.resolve) {
+        return expression;
+      }
+      return values.getOrDefault(expression, expression);
+    });
+    writer.write(pom.getSerialized());
+    writer.close();
+  }
+
+}
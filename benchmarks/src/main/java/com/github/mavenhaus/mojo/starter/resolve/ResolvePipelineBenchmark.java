@@ -0,0 +1,229 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class benchmarks the stages of the resolve pipeline of {@link ProjectResolver} on a {@link SyntheticPom}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolvePipelineBenchmark {
+
+  private ParameterResolvingWriter.Resolver resolver;
+
+  private String resolvedContent;
+
+  private String changedContent;
+
+  private File outputDirectory;
+
+  private File unchangedFile;
+
+  private File changedFile;
+
+  private boolean changed;
+
+  /**
+   * Prepares the resolver and the output files.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @throws IOException if anything goes wrong.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  @Setup(Level.Trial)
+  public void setUp(SyntheticPom pom) throws IOException, MojoExecutionException {
+    MatcherSet matcherSet = MatcherSet.compile(com.github.mavenhaus.mojo.starter.resolve.Mode.starter.getMatchers());
+    resolver = expression -> {
+      int index = matcherSet.indexOf(expression.substring(2, expression.length() - 1));
+      if (index == MatcherSet.NO_MATCH || matcherSet.getAction(index) != Action.resolve) {
+        return expression;
+      }
+      return pom.getValues().getOrDefault(expression, expression);
+    };
+
+    StringWriter writer = new StringWriter();
+    ProjectResolver.generateResolvedContent(pom.getModel(), SyntheticPom.HEADER_COMMENT, writer, resolver,
+        PhaseTimer.disabled());
+    resolvedContent = writer.toString();
+    changedContent = resolvedContent.replace("</project>", "<!-- changed --></project>");
+
+    outputDirectory = Files.createTempDirectory("resolve-pipeline").toFile();
+    unchangedFile = new File(outputDirectory, "unchanged.xml");
+    changedFile = new File(outputDirectory, "changed.xml");
+    Files.write(unchangedFile.toPath(), resolvedContent.getBytes(StandardCharsets.UTF_8));
+    changed = false;
+  }
+
+  /**
+   * Deletes the output files.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    File[] files = outputDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    outputDirectory.delete();
+  }
+
+  /**
+   * Benchmarks the deep copy of the original model the resolved model was generated from before the copy-on-write
+   * {@link ModelCopier}, for comparison of the allocated bytes with {@link #generateResolvedModel(SyntheticPom)}.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @return the copy of the model.
+   */
+  @Benchmark
+  public Model cloneModel(SyntheticPom pom) {
+    return pom.getModel().clone();
+  }
+
+  /**
+   * Benchmarks the copy-on-write copy of the original model and the removal of the starter plugin.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @return the resolved model.
+   */
+  @Benchmark
+  public Model generateResolvedModel(SyntheticPom pom) {
+    return ProjectResolver.generateResolvedModel(pom.getModel(), true, PhaseTimer.disabled());
+  }
+
+  /**
+   * Benchmarks the serialization of the model including the header comment insertion and the parameter resolution.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @param blackhole the {@link Blackhole} consuming the content.
+   * @return whether the header comment has been inserted.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public boolean generateResolvedContent(SyntheticPom pom, Blackhole blackhole) throws IOException {
+    return ProjectResolver.generateResolvedContent(pom.getModel(), SyntheticPom.HEADER_COMMENT,
+        new BlackholeWriter(blackhole), resolver, PhaseTimer.disabled());
+  }
+
+  /**
+   * Benchmarks the {@link Strategy#model model strategy}: the copy-on-write copy of the model, the parameter
+   * resolution in the model and the serialization including the header comment insertion.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @param blackhole the {@link Blackhole} consuming the content.
+   * @return whether the header comment has been inserted.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public boolean generateResolvedContentFromModel(SyntheticPom pom, Blackhole blackhole) throws IOException {
+    Model resolvedModel = ProjectResolver.generateResolvedModel(pom.getModel(), true, PhaseTimer.disabled());
+    return ProjectResolver.generateResolvedContent(resolvedModel, SyntheticPom.HEADER_COMMENT,
+        new BlackholeWriter(blackhole), new ModelParameterResolver(resolver), PhaseTimer.disabled());
+  }
+
+  /**
+   * Benchmarks the extraction of the header comment from the POM file.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @return the comments of the prolog.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public List<String> extractHeaderComment(SyntheticPom pom) throws IOException {
+    return PrologScanner.scan(pom.getFile());
+  }
+
+  /**
+   * Benchmarks the insertion of the header comment into the serialized model.
+   *
+   * @param pom the {@link SyntheticPom}.
+   * @param blackhole the {@link Blackhole} consuming the content.
+   * @return whether the header comment has been inserted.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public boolean insertHeaderComment(SyntheticPom pom, Blackhole blackhole) throws IOException {
+    HeaderCommentWriter writer = new HeaderCommentWriter(new BlackholeWriter(blackhole), SyntheticPom.HEADER_COMMENT);
+    writer.write(pom.getSerialized());
+    writer.close();
+    return writer.isInserted();
+  }
+
+  /**
+   * Benchmarks the writing of the resolved content to a file having the same content already.
+   *
+   * @return whether the file has been replaced.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public boolean writeContentToFileUnchanged() throws IOException {
+    return writeContent(unchangedFile, resolvedContent);
+  }
+
+  /**
+   * Benchmarks the writing of the resolved content to a file having a different content.
+   *
+   * @return whether the file has been replaced.
+   * @throws IOException if anything goes wrong.
+   */
+  @Benchmark
+  public boolean writeContentToFileChanged() throws IOException {
+    changed = !changed;
+    return writeContent(changedFile, changed ? changedContent : resolvedContent);
+  }
+
+  private static boolean writeContent(File file, String content) throws IOException {
+    AtomicFileWriter writer = new AtomicFileWriter(file, StandardCharsets.UTF_8);
+    try {
+      writer.write(content);
+      return writer.commit();
+    } finally {
+      writer.discard();
+    }
+  }
+
+}
@@ -0,0 +1,226 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * This is the benchmark state holding a synthetic POM with the given number of {@link #lines} where the given
+ * {@link #density} of the values are <code>${...}</code> expressions.
+ * The expressions are a mix of the ones resolved by the starter {@link Mode mode} and of the ones kept.
+ */
+@State(Scope.Benchmark)
+public class SyntheticPom {
+
+  /**
+   * The header comment of the synthetic POM.
+   */
+  public static final String HEADER_COMMENT = " synthetic POM of version ${revision} ";
+
+  private static final long SEED = 42L;
+
+  /**
+   * The number of lines surrounding the dependencies.
+   */
+  private static final int FRAME_LINES = 24;
+
+  /**
+   * The number of lines of a dependency.
+   */
+  private static final int DEPENDENCY_LINES = 5;
+
+  private static final String[] EXPRESSIONS = {
+      "${project.groupId}", "${project.version}", "${revision}", "${parent.version}", "${dependency.version}",
+      "${project.build.directory}", "${sha1}"
+  };
+
+  /**
+   * The approximate number of lines of the POM.
+   */
+  @Param({"50", "500", "5000", "50000"})
+  public int lines;
+
+  /**
+   * The ratio of values being <code>${...}</code> expressions.
+   */
+  @Param({"0.1", "0.5", "1.0"})
+  public double density;
+
+  private String text;
+
+  private File file;
+
+  private Model model;
+
+  private String serialized;
+
+  private Map<String, String> values;
+
+  /**
+   * Generates the POM.
+   *
+   * @throws IOException if the POM cannot be written.
+   * @throws XmlPullParserException if the POM cannot be parsed.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, XmlPullParserException {
+    text = generate(lines, density);
+    file = File.createTempFile("synthetic-pom", ".xml");
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    model = new MavenXpp3Reader().read(new StringReader(text));
+
+    StringWriter writer = new StringWriter(text.length());
+    new MavenXpp3Writer().write(writer, model);
+    serialized = writer.toString();
+
+    values = new HashMap<>();
+    for (String expression : EXPRESSIONS) {
+      values.put(expression, "value-of-" + expression.substring(2, expression.length() - 1));
+    }
+  }
+
+  /**
+   * Deletes the POM file.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (file != null && !file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  /**
+   * Generates the text of a synthetic POM.
+   *
+   * @param lines the approximate number of lines.
+   * @param density the ratio of values being <code>${...}</code> expressions.
+   * @return the text of the POM.
+   */
+  public static String generate(int lines, double density) {
+    Random random = new Random(SEED);
+    int dependencies = Math.max(1, (lines - FRAME_LINES) / DEPENDENCY_LINES);
+
+    StringBuilder pom = new StringBuilder(lines * 48);
+    pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    pom.append("<!--").append(HEADER_COMMENT).append("-->\n");
+    pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+    pom.append("  <modelVersion>4.0.0</modelVersion>\n");
+    pom.append("  <parent>\n");
+    pom.append("    <groupId>com.github.mavenhaus.benchmark</groupId>\n");
+    pom.append("    <artifactId>parent</artifactId>\n");
+    pom.append("    <version>1.0.0</version>\n");
+    pom.append("  </parent>\n");
+    pom.append("  <artifactId>synthetic</artifactId>\n");
+    pom.append("  <version>").append(value(random, density, "1.0.0")).append("</version>\n");
+    pom.append("  <packaging>pom</packaging>\n");
+    pom.append("  <properties>\n");
+    pom.append("    <revision>1.0.0</revision>\n");
+    pom.append("    <dependency.version>").append(value(random, density, "2.0.0")).append("</dependency.version>\n");
+    pom.append("  </properties>\n");
+    pom.append("  <dependencyManagement>\n");
+    pom.append("    <dependencies>\n");
+    for (int i = 0; i < dependencies; i++) {
+      pom.append("      <dependency>\n");
+      pom.append("        <groupId>").append(value(random, density, "com.github.mavenhaus.benchmark"))
+          .append("</groupId>\n");
+      pom.append("        <artifactId>module-").append(i).append("</artifactId>\n");
+      pom.append("        <version>").append(value(random, density, "1.0." + i)).append("</version>\n");
+      pom.append("      </dependency>\n");
+    }
+    pom.append("    </dependencies>\n");
+    pom.append("  </dependencyManagement>\n");
+    pom.append("  <build>\n");
+    pom.append("    <directory>").append(value(random, density, "target")).append("</directory>\n");
+    pom.append("  </build>\n");
+    pom.append("</project>\n");
+    return pom.toString();
+  }
+
+  private static String value(Random random, double density, String literal) {
+    if (random.nextDouble() < density) {
+      return EXPRESSIONS[random.nextInt(EXPRESSIONS.length)];
+    }
+    return literal;
+  }
+
+  /**
+   * Returns the text of the POM.
+   *
+   * @return the text of the POM.
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Returns the POM file.
+   *
+   * @return the POM file.
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Returns the parsed model of the POM.
+   *
+   * @return the model.
+   */
+  public Model getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the model serialized by the {@link MavenXpp3Writer} with unresolved expressions.
+   *
+   * @return the serialized model.
+   */
+  public String getSerialized() {
+    return serialized;
+  }
+
+  /**
+   * Returns the values of the expressions, keyed by the expression including <code>${</code> and <code>}</code>.
+   *
+   * @return the values of the expressions.
+   */
+  public Map<String, String> getValues() {
+    return values;
+  }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+// the check never writes the resolved POM, it still has the edit of the last build
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '9.9.9.9-local-SNAPSHOT' == resolvedProject.version.text()
+
+def buildLog = new File(basedir, 'build.log').text
+assert 2 == buildLog.count('.resolved-pom.xml is current')
+// the failure message is logged once as error, then repeated by the stack trace
+assert 3 == buildLog.count('[ERROR] Failed to execute goal com.github.mavenhaus:starter-maven-plugin:')
+assert 2 == buildLog.count('[ERROR]   ${project.version}: \'1.2.3.4-local-SNAPSHOT\' -> \'1.2.3.5-local-SNAPSHOT\'')
+assert 2 == buildLog.count('[ERROR]   ${revision}: \'1.2.3.4\' -> \'1.2.3.5\'')
+// only the regeneration of the text strategy and of the edited file report the line, the fingerprint suffices otherwise
+assert 2 == buildLog.count('[ERROR] First difference at line 7:')
+assert buildLog.contains('[ERROR]   expected: <version>1.2.3.5-local-SNAPSHOT</version>')
+assert buildLog.contains('[ERROR]   actual:   <version>1.2.3.4-local-SNAPSHOT</version>')
+// the edited content is detected although the fingerprint matches the inputs and the length
+assert buildLog.contains('[ERROR]   expected: <version>1.2.3.4-local-SNAPSHOT</version>')
+assert buildLog.contains('[ERROR]   actual:   <version>9.9.9.9-local-SNAPSHOT</version>')
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+
+// the managed version and the property references are written into the dependencies
+def dependencies = resolvedProject.dependencies.dependency
+assert 2 == dependencies.size()
+assert 'com.github.mavenhaus.starter.its' == dependencies[0].groupId.text()
+assert 'dep' == dependencies[0].artifactId.text()
+assert '1.1' == dependencies[0].version.text()
+assert 'com.github.mavenhaus.starter.its' == dependencies[1].groupId.text()
+assert '2.0' == dependencies[1].version.text()
+assert 'test' == dependencies[1].scope.text()
+
+// the imported BOM is not needed anymore
+assert 0 == resolvedProject.dependencyManagement.size()
+assert 0 == dependencies[0].scope.size()
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+import jdk.jfr.consumer.RecordingFile
+
+def readEvents(String name) {
+  return RecordingFile.readAllEvents(new File(basedir, name).toPath())
+      .findAll { it.eventType.name.startsWith('com.github.mavenhaus.starter.') }
+      .groupBy { it.eventType.name - 'com.github.mavenhaus.starter.' }
+}
+
+def resolvedPom = new File(basedir, '.resolved-pom.xml')
+
+def first = readEvents('first.jfr')
+assert 1 == first.ProjectResolve.size()
+def projectEvent = first.ProjectResolve[0]
+assert projectEvent.getString('project').startsWith('com.github.mavenhaus.starter.its:starter-mode-flight-recorder:')
+assert !projectEvent.getBoolean('upToDate')
+assert projectEvent.getLong('originalBytes') == new File(basedir, 'pom.xml').length()
+assert projectEvent.getLong('resolvedBytes') == resolvedPom.length()
+assert !projectEvent.duration.isNegative()
+
+def revision = first.Expression.find { it.getString('expression') == '${revision}' }
+assert revision.getString('action') == 'resolve'
+assert revision.getInt('matcherIndex') >= 0
+assert first.Expression.every { it.getString('action') in ['resolve', 'keep', null] }
+assert first.ValueLookup.any { it.getString('expression') == '${revision}' && !it.getBoolean('hit') }
+
+def pomWrite = first.FileWrite.find { it.getString('path').endsWith('.resolved-pom.xml') }
+assert !pomWrite.getBoolean('unchanged')
+assert pomWrite.getLong('bytes') == resolvedPom.length()
+
+// the second build regenerates the same content
+def second = readEvents('second.jfr')
+assert second.FileWrite.find { it.getString('path').endsWith('.resolved-pom.xml') }.getBoolean('unchanged')
@@ -0,0 +1,29 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedContent = resolvedPom.getText('ISO-8859-1')
+assert resolvedContent.startsWith('<?xml version="1.0" encoding="ISO-8859-1"?>')
+assert resolvedContent.contains('<!-- \u00dcn\u00efc\u00f6d\u00e9 header of revision 1.2.3.4 -->\n<project')
+assert !resolvedContent.contains('second comment')
+
+def buildLog = new File(basedir, 'build.log').text
+assert buildLog.contains('Ignoring multiple XML header comment!')
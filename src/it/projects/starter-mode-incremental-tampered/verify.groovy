@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.dependencyManagement.dependencies.dependency[0].version.text()
+
+// the edited resolved POM has the recorded length but not the recorded content
+def buildLog = new File(basedir, 'build.log').text
+assert buildLog.contains('.resolved-pom.xml: 1.2.3.4 --> 9.9.9.9')
+assert 0 == buildLog.count('.resolved-pom.xml is up to date')
+
+// the rewritten resolved POM keeps the permissions of the replaced file
+if (java.nio.file.FileSystems.default.supportedFileAttributeViews().contains('posix')) {
+  assert 'rw-r-----' == java.nio.file.attribute.PosixFilePermissions.toString(java.nio.file.Files.getPosixFilePermissions(resolvedPom.toPath()))
+}
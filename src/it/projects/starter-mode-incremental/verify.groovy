@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+File fingerprint = new File(basedir, '.resolved-pom.xml.fingerprint')
+assert fingerprint.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.5-local-SNAPSHOT' == resolvedProject.version.text()
+assert '1.2.3.5-local-SNAPSHOT' == resolvedProject.dependencyManagement.dependencies.dependency[0].version.text()
+
+def buildLog = new File(basedir, 'build.log').text
+assert 2 == buildLog.count('.resolved-pom.xml is up to date')
+
+// the first up to date build reads the resolved POM written just before, a later one trusts its recorded state
+def verified = buildLog.count('Verified the content of the resolved POM')
+assert verified >= 1 && verified <= 2
+def fingerprintProperties = new Properties()
+fingerprint.withInputStream { fingerprintProperties.load(it) }
+assert resolvedPom.lastModified() == Long.parseLong(fingerprintProperties.getProperty('lastModified'))
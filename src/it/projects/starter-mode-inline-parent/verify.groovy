@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert 0 == resolvedProject.parent.size()
+assert 'com.github.mavenhaus.starter.its' == resolvedProject.groupId.text()
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+assert 'Built on parent-inline' == resolvedProject.description.text()
+
+// the inherited properties of the whole chain
+assert '0.0.1' == resolvedProject.properties.revision.text()
+assert '2.0' == resolvedProject.properties.'test.version'.text()
+assert '1.1' == resolvedProject.properties.'dep.version'.text()
+// but neither the properties of the active profiles nor the ones of the settings
+assert 0 == resolvedProject.properties.'deploy.password'.size()
+assert 0 == resolvedProject.properties.'it.settings.path'.size()
+assert !resolvedPom.text.contains('secret')
+
+// the managed dependencies of the grand parent, but not the ones of the active profile of the project
+def managed = resolvedProject.dependencyManagement.dependencies.dependency
+assert 1 == managed.size()
+assert 'dep' == managed[0].artifactId.text()
+// taken from the original model of the grand parent, its expressions are kept as the property is inlined
+assert '${dep.version}' == managed[0].version.text()
+assert 'util' == resolvedProject.profiles.profile[0].dependencyManagement.dependencies.dependency[0].artifactId.text()
+
+// the declared dependencies followed by the inherited one, which differs from the declared one by its classifier
+def dependencies = resolvedProject.dependencies.dependency
+assert 3 == dependencies.size()
+assert 'dep' == dependencies[0].artifactId.text()
+assert 'test' == dependencies[1].artifactId.text()
+assert 'tests' == dependencies[1].classifier.text()
+assert 'test' == dependencies[2].artifactId.text()
+assert 0 == dependencies[2].classifier.size()
+assert '${test.version}' == dependencies[2].version.text()
+assert 'test' == dependencies[2].scope.text()
+
+// neither the dependency of the profile of the parent active in the second build, which finds the resolved POM up to
+// date as it does not depend on the active profiles
+assert !dependencies.any { it.artifactId.text() == 'core' }
+assert 1 == new File(basedir, 'build.log').text.count('.resolved-pom.xml is up to date')
+
+assert 'Apache License, Version 2.0' == resolvedProject.licenses.license[0].name.text()
+assert resolvedProject.scm.url.text().startsWith('https://github.com/mavenhaus/parent-inline')
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+// generates a BOM with thousands of parameter expressions
+int count = 20000
+
+File pom = new File(basedir, 'pom.xml')
+StringBuilder dependencies = new StringBuilder()
+for (int i = 0; i < count; i++) {
+  dependencies.append("""
+      <dependency>
+        <groupId>\${project.groupId}</groupId>
+        <artifactId>module-${i}</artifactId>
+        <version>\${project.version}</version>
+      </dependency>""")
+}
+pom.text = pom.text.replace('<!-- generated by prebuild.groovy -->', dependencies.toString())
+
+return true
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+
+def dependencies = resolvedProject.dependencyManagement.dependencies.dependency
+assert 20000 == dependencies.size()
+dependencies.eachWithIndex { dependency, i ->
+  assert 'com.github.mavenhaus.starter.its' == dependency.groupId.text()
+  assert "module-${i}" == dependency.artifactId.text()
+  assert '1.2.3.4-local-SNAPSHOT' == dependency.version.text()
+}
+assert !resolvedPom.text.contains('${')
+assert resolvedPom.text.contains('<!-- Generated starter BOM of revision 1.2.3.4 -->\n<project')
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File originalPom = new File(basedir, 'pom.xml')
+
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+assert resolvedPom.text.contains('<!-- Model strategy of version 1.2.3.4 -->')
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+assert 'Tom & Jerry 1.2.3.4-local-SNAPSHOT' == resolvedProject.properties.'project.label'.text()
+assert 'com.github.mavenhaus.starter.its' == resolvedProject.dependencyManagement.dependencies.dependency[0].groupId.text()
+assert '${artifact.name}' == resolvedProject.dependencyManagement.dependencies.dependency[0].artifactId.text()
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.dependencyManagement.dependencies.dependency[0].version.text()
+assert 0 == resolvedProject.build.plugins.size()
+
+def configuration = resolvedProject.build.pluginManagement.plugins.plugin[0].configuration
+assert '1.2.3.4-local-SNAPSHOT' == configuration.archive.manifestEntries.'Implementation-Version'.text()
+assert '${artifact.name}' == configuration.archive.manifestEntries.'Implementation-Title'.text()
+assert 'starter-mode-model-strategy' == configuration.items.item[0].@name.text()
+assert '1.2.3.4' == configuration.items.item[0].@revision.text()
+assert 'com.github.mavenhaus.starter.its' == configuration.items.item[0].text()
+
+def profileDependency = resolvedProject.profiles.profile[0].dependencies.dependency[0]
+assert 'com.github.mavenhaus.starter.its' == profileDependency.groupId.text()
+assert '${artifact.name}' == profileDependency.artifactId.text()
+assert '1.2.3.4-local-SNAPSHOT' == profileDependency.version.text()
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+
+def dependencies = resolvedProject.dependencyManagement.dependencies.dependency
+assert 'lib-release' == dependencies[0].artifactId.text()
+// the nested expression is resolved first, then the resulting expression
+assert '2.0.0' == dependencies[0].version.text()
+// the nested expression is resolved, the resulting expression is kept as it does not match
+assert '${other.release.version}' == dependencies[1].version.text()
+
+// the text strategy produces the same resolved POM
+def buildLog = new File(basedir, 'build.log').text
+assert buildLog.contains('.resolved-pom.xml is current')
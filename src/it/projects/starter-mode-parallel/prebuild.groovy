@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+// generates modules resolved concurrently, each one evaluating expressions of its own project
+int count = 16
+
+StringBuilder modules = new StringBuilder()
+for (int i = 0; i < count; i++) {
+  String name = "module-${i}"
+  modules.append("\n    <module>${name}</module>")
+  File moduleDir = new File(basedir, name)
+  moduleDir.mkdirs()
+  new File(moduleDir, 'pom.xml').text = """<project xmlns="http://maven.apache.org/POM/4.0.0">
+  <modelVersion>4.0.0</modelVersion>
+
+  <parent>
+    <groupId>com.github.mavenhaus.starter.its</groupId>
+    <artifactId>starter-mode-parallel</artifactId>
+    <version>\${revision}\${sha1}\${changelist}</version>
+  </parent>
+
+  <artifactId>${name}</artifactId>
+
+  <description>\${project.artifactId} in \${project.basedir} of \${project.parent.artifactId}</description>
+
+</project>
+"""
+}
+File pom = new File(basedir, 'pom.xml')
+pom.text = pom.text.replace('<!-- generated by prebuild.groovy -->', modules.toString())
+
+return true
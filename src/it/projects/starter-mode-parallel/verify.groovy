@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import groovy.json.JsonSlurper
+
+// every module is resolved with its own project even though the modules are resolved concurrently
+int count = 16
+for (int i = 0; i < count; i++) {
+  String name = "module-${i}"
+  File moduleDir = new File(basedir, name)
+  def resolvedPom = new XmlSlurper().parse(new File(moduleDir, '.resolved-pom.xml'))
+  assert '1.2.3.4-local-SNAPSHOT' == resolvedPom.parent.version.text()
+  assert "${name} in ${moduleDir.canonicalPath} of starter-mode-parallel" == resolvedPom.description.text()
+}
+
+def trace = new JsonSlurper().parseText(new File(basedir, 'target/starter-trace.json').text + ']')
+assert count + 1 == trace.findAll { it.ph == 'X' && it.cat == 'project' }.size()
+assert 1 < trace.findAll { it.ph == 'M' }.collect { it.tid }.unique().size()
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.dependencies.dependency[0].version.text()
+assert 0 == resolvedProject.build.size()
+assert 0 == resolvedProject.reporting.size()
+assert 0 == resolvedProject.developers.size()
+
+// the profile is kept without its build
+assert 'extra' == resolvedProject.profiles.profile[0].id.text()
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.profiles.profile[0].dependencies.dependency[0].version.text()
+assert 0 == resolvedProject.profiles.profile[0].build.size()
+
+def buildLog = new File(basedir, 'build.log').text
+def matcher = buildLog =~ /Pruned \[build, reporting, developers\] from resolved POM of project \S+: about (\d+) bytes saved \((\d+) bytes left\)/
+assert matcher.find()
+assert (matcher.group(1) as long) > 300
+assert (matcher.group(2) as long) == resolvedPom.length()
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+def parentProject = new XmlSlurper().parse(new File(basedir, '.resolved-pom.xml'))
+assert '1.2.3.4-local-SNAPSHOT' == parentProject.version.text()
+def managed = parentProject.dependencyManagement.dependencies.dependency
+assert 3 == managed.size()
+managed.each {
+  assert 'com.github.mavenhaus.starter.its' == it.groupId.text()
+  assert '1.2.3.4-local-SNAPSHOT' == it.version.text()
+}
+
+def moduleA = new XmlSlurper().parse(new File(basedir, 'module-a/.resolved-pom.xml'))
+assert 'Module of com.github.mavenhaus.starter.its version 1.2.3.4-local-SNAPSHOT revision 1.2.3.4' == moduleA.description.text()
+
+def buildLog = new File(basedir, 'build.log').text
+assert !buildLog.contains('Managed sibling module com.github.mavenhaus.starter.its:module-a ')
+// the resolve goal warns whether the resolved POM is up to date or not, and so does the check goal
+assert 3 == buildLog.count('Managed sibling module com.github.mavenhaus.starter.its:module-b has the version 2.0.0-SNAPSHOT instead of 1.2.3.4-local-SNAPSHOT')
+assert 3 == buildLog.count('Managed sibling module com.github.mavenhaus.starter.its:module-c is not a module of the reactor')
+assert buildLog.contains('.resolved-pom.xml is up to date')
+assert buildLog.contains('.resolved-pom.xml is current')
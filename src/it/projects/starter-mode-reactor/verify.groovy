@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+def parentProject = new XmlSlurper().parse(new File(basedir, '.resolved-pom.xml'))
+assert '1.2.3.4-local-SNAPSHOT' == parentProject.version.text()
+assert '1.2.3.4-local-SNAPSHOT' == parentProject.dependencyManagement.dependencies.dependency[0].version.text()
+
+def moduleA = new XmlSlurper().parse(new File(basedir, 'module-a/.resolved-pom.xml'))
+assert '1.2.3.4-local-SNAPSHOT' == moduleA.parent.version.text()
+assert 'Module of com.github.mavenhaus.starter.its version 1.2.3.4-local-SNAPSHOT revision 1.2.3.4' == moduleA.description.text()
+
+def moduleB = new XmlSlurper().parse(new File(basedir, 'module-b/.resolved-pom.xml'))
+assert '1.2.3.4-local-SNAPSHOT' == moduleB.parent.version.text()
+assert '2.0.0-SNAPSHOT' == moduleB.version.text()
+assert 'Module of com.github.mavenhaus.starter.its version 2.0.0-SNAPSHOT revision 1.2.3.4' == moduleB.description.text()
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+
+def firstSettings = resolvedProject.properties.'settings.first'.text()
+assert firstSettings.contains('<settings')
+assert firstSettings == resolvedProject.properties.'settings.second'.text()
+assert resolvedProject.properties.'current.project'.text().contains('<artifactId>starter-mode-rendered-values</artifactId>')
+
+// the settings reached by two expressions are serialized once
+def buildLog = new File(basedir, 'build.log').text
+assert buildLog.contains('[DEBUG] Rendered projects and settings: 2')
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.6-local-SNAPSHOT' == resolvedProject.version.text()
+
+// the second and the sixth invocation restore the resolved POM instead of generating it: the fifth one generates it
+// as the stored object has been changed by the fourth one
+def buildLog = new File(basedir, 'build.log').text
+assert 2 == buildLog.count('.resolved-pom.xml from the store')
+assert 0 == buildLog.count('.resolved-pom.xml is up to date')
+
+// the last invocation evicts every object and its entries as the store is limited to one byte
+File store = new File(basedir, 'store')
+assert new File(store, 'store.lock').exists()
+assert new File(store, 'objects').listFiles().findAll { it.name.endsWith('.xml') }.isEmpty()
+def entries = []
+new File(store, 'index').eachFileRecurse { if (it.name.endsWith('.properties')) entries << it }
+assert entries.isEmpty()
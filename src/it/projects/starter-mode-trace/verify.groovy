@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import groovy.json.JsonSlurper
+
+def projects = ['', 'module-a/', 'module-b/']
+projects.each { path ->
+  def resolvedPom = new XmlSlurper().parse(new File(basedir, path + '.resolved-pom.xml'))
+  assert '1.2.3.4-local-SNAPSHOT' == (path ? resolvedPom.parent.version.text() : resolvedPom.version.text())
+
+  def timings = new JsonSlurper().parse(new File(basedir, path + '.resolved-pom.xml.timings.json'))
+  assert timings.project.startsWith('com.github.mavenhaus.starter.its:')
+  assert !timings.upToDate
+  assert timings.totalNanos > 0
+  assert timings.phaseNanos.serialization > 0
+  assert timings.phaseNanos.fileWrite > 0
+  assert timings.phaseNanos.values().sum() == timings.totalNanos
+}
+
+// the trace file has no closing bracket so it can be appended to
+def trace = new JsonSlurper().parseText(new File(basedir, 'target/starter-trace.json').text + ']')
+def projectEvents = trace.findAll { it.ph == 'X' && it.cat == 'project' }
+assert 3 == projectEvents.size()
+assert trace.any { it.ph == 'X' && it.cat == 'phase' && it.name == 'serialization' }
+
+def buildLog = new File(basedir, 'build.log').text
+assert 3 == buildLog.count('Timings of com.github.mavenhaus.starter.its:')
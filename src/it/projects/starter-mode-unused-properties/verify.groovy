@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+File resolvedPom = new File(basedir, '.resolved-pom.xml')
+assert resolvedPom.exists()
+
+def resolvedProject = new XmlSlurper().parse(resolvedPom)
+assert '1.2.3.4-local-SNAPSHOT' == resolvedProject.version.text()
+assert '${dep.version}' == resolvedProject.dependencies.dependency[0].version.text()
+
+// the referenced properties, transitively, and the allowlisted one are kept
+def properties = resolvedProject.properties.children()*.name() as Set
+assert ['dep.version', 'base.version', 'test.version', 'maven.compiler.release'] as Set == properties
+
+def buildLog = new File(basedir, 'build.log').text
+assert buildLog.contains('Removed unused properties [changelist, revision, sha1, unused.version] from resolved POM of project ')
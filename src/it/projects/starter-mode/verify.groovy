@@ -43,3 +43,11 @@ assert 1 == resolvedProject.build.size()
 assert 1 == resolvedProject.build.defaultGoal.size()
 assert 0 == resolvedProject.build.plugins.size()
 assert 0 == resolvedProject.build.plugins.plugin.size()
+
+// the resolved POM gets the default permissions of a file created by the build
+if (java.nio.file.FileSystems.default.supportedFileAttributeViews().contains('posix')) {
+  File probe = new File(basedir, 'target/permissions-probe')
+  probe.parentFile.mkdirs()
+  probe.createNewFile()
+  assert java.nio.file.Files.getPosixFilePermissions(probe.toPath()) == java.nio.file.Files.getPosixFilePermissions(resolvedPom.toPath())
+}
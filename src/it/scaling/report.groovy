@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import groovy.json.JsonSlurper
+
+// checks the resolved POMs of the generated reactor and the budgets, then reports the timings of the given threads
+int count = moduleCount as int
+String reactorId = new XmlSlurper().parse(new File(basedir, 'pom.xml')).artifactId.text()
+
+for (int i = 0; i < count; i++) {
+  String name = "module-${i}"
+  File moduleDir = new File(basedir, name)
+  def resolvedPom = new XmlSlurper().parse(new File(moduleDir, '.resolved-pom.xml'))
+  assert '1.2.3.4-local-SNAPSHOT' == resolvedPom.parent.version.text()
+  assert "${name} #${moduleIdResolved ? i : '${module.id}'} in ${moduleDir.canonicalPath} of ${reactorId}" == resolvedPom.description.text()
+}
+
+def trace = new JsonSlurper().parseText(new File(basedir, 'target/starter-trace.json').text + ']')
+def projects = trace.findAll { it.ph == 'X' && it.cat == 'project' }
+assert count + 1 == projects.size()
+
+// the trace times are in microseconds
+double wallTime = (projects.collect { it.ts + it.dur }.max() - projects.collect { it.ts }.min()) / 1000
+def latencies = projects.collect { it.dur / 1000 }.sort()
+double p50 = latencies[latencies.size().intdiv(2)]
+double p95 = latencies[Math.min(latencies.size() - 1, (latencies.size() * 95).intdiv(100))]
+int usedThreads = trace.findAll { it.ph == 'M' }.collect { it.tid }.unique().size()
+
+String line = String.format(Locale.ROOT, '%s threads=%s used=%d modules=%d wall=%.1fms p50=%.2fms p95=%.2fms max=%.2fms',
+    reactorId, threads, usedThreads, count, wallTime, p50, p95, latencies[-1])
+File report = new File(reportFile)
+def baseline = report.exists() ? report.readLines().find { it.contains(' threads=1 ') } : null
+if (baseline != null && threads != '1') {
+  double baselineWallTime = (baseline =~ /wall=([0-9.]+)ms/)[0][1] as double
+  line += String.format(Locale.ROOT, ' speedup=%.2f', baselineWallTime / wallTime)
+}
+report << line + '\n'
+println line
+
+assert wallTime <= (wallTimeBudget as double) : "wall time ${wallTime}ms exceeds the budget of ${wallTimeBudget}ms"
+assert p95 <= (moduleLatencyBudget as double) : "p95 module latency ${p95}ms exceeds the budget of ${moduleLatencyBudget}ms"
+
+return true
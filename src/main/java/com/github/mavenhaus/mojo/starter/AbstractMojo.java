@@ -73,4 +73,22 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
     return new File(getOutputDirectory(), getResolvedPomFilename());
   }
 
+  /**
+   * Returns a {@link File} instance pointing to the fingerprint of the resolved POM.
+   *
+   * @return a {@link File} instance pointing to the fingerprint of the resolved POM.
+   */
+  protected File getFingerprintFile() {
+    return new File(getOutputDirectory(), getResolvedPomFilename() + ".fingerprint");
+  }
+
+  /**
+   * Returns a {@link File} instance pointing to the timings of the generation of the resolved POM.
+   *
+   * @return a {@link File} instance pointing to the timings of the generation of the resolved POM.
+   */
+  protected File getTimingsFile() {
+    return new File(getOutputDirectory(), getResolvedPomFilename() + ".timings.json");
+  }
+
 }
@@ -0,0 +1,76 @@
+package com.github.mavenhaus.mojo.starter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * This class gives access to caches living as long as the {@link MavenSession}.
+ * The caches are stored in the {@link SessionData} of the repository session, which - unlike the
+ * {@link MavenSession} itself - is shared by all the projects of a parallel build.
+ */
+public final class SessionCache {
+
+  /**
+   * Creates a new instance of {@link SessionCache}.
+   */
+  private SessionCache() {
+    super();
+  }
+
+  /**
+   * Returns the session scoped cache registered under the given key, creating it if necessary.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param key the key of the cache.
+   * @param <K> the type of the keys of the cache.
+   * @param <V> the type of the values of the cache.
+   * @return the cache.
+   */
+  public static <K, V> ConcurrentMap<K, V> get(MavenSession session, Object key) {
+    return get(session, key, ConcurrentHashMap::new);
+  }
+
+  /**
+   * Returns the session scoped object registered under the given key, creating it if necessary.
+   * If several threads create the object at the same time, all of them get the one registered first.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param key the key of the object.
+   * @param factory the factory creating the object if it is not registered yet.
+   * @param <T> the type of the object.
+   * @return the object.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T get(MavenSession session, Object key, Supplier<T> factory) {
+    SessionData data = session.getRepositorySession().getData();
+    Object value = data.get(key);
+    while (value == null) {
+      data.set(key, null, factory.get());
+      value = data.get(key);
+    }
+    return (T) value;
+  }
+
+}
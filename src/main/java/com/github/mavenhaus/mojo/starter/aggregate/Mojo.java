@@ -0,0 +1,123 @@
+package com.github.mavenhaus.mojo.starter.aggregate;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.resolve.Matcher;
+import com.github.mavenhaus.mojo.starter.resolve.ProjectResolver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * This MOJO realizes the goal <code>starter:aggregate</code> that generates the resolved POM of every project of the
+ * reactor in one execution. The projects are resolved in parallel sharing the compiled {@link Matcher matchers} and the
+ * evaluated parameter values, then the POM file of each project is updated as done by
+ * <code>{@link com.github.mavenhaus.mojo.starter.resolve.Mojo starter:resolve}</code>.<br>
+ * The configuration of the project the goal is executed on applies to all the projects of the reactor.
+ * The {@link #getOutputDirectory() output directory} is taken relative to the base directory of each project.
+ */
+@org.apache.maven.plugins.annotations.Mojo(name = "aggregate", aggregator = true, requiresProject = true, requiresDirectInvocation = false, threadSafe = true)
+public class Mojo extends com.github.mavenhaus.mojo.starter.resolve.Mojo {
+
+  /**
+   * The number of threads used to resolve the projects of the reactor.
+   * Defaults to the number of available processors.
+   */
+  @Parameter(property = "starter.aggregate.threads", defaultValue = "0")
+  private int threads;
+
+  /**
+   * Creates a new instance of {@link Mojo aggregate mojo}.
+   */
+  public Mojo() {
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    buildCmdlimeMatchers();
+
+    List<Matcher> effectiveMatchers = getEffectiveMatchers();
+    List<MavenProject> projects = getSession().getProjects();
+    List<ProjectResolver> resolvers = new ArrayList<>(projects.size());
+    for (MavenProject reactorProject : projects) {
+      resolvers.add(new ProjectResolver(this, reactorProject, effectiveMatchers));
+    }
+
+    resolveAll(resolvers);
+
+    if (isUseResolvedPomFile()) {
+      for (int i = 0; i < projects.size(); i++) {
+        projects.get(i).setPomFile(resolvers.get(i).getResolvedPomFile());
+      }
+    }
+
+    logValueCacheStatistics();
+  }
+
+  /**
+   * Runs the given resolvers on a {@link ForkJoinPool}.
+   *
+   * @param resolvers the resolvers to run.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private void resolveAll(List<ProjectResolver> resolvers) throws MojoExecutionException, MojoFailureException {
+    List<Callable<Void>> tasks = new ArrayList<>(resolvers.size());
+    for (ProjectResolver resolver : resolvers) {
+      tasks.add(() -> {
+        resolver.resolve();
+        return null;
+      });
+    }
+
+    int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, Math.max(1, resolvers.size())));
+    try {
+      for (Future<Void> future : pool.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while resolving the reactor projects", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      if (e.getCause() instanceof MojoFailureException) {
+        throw (MojoFailureException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to resolve the reactor projects", e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
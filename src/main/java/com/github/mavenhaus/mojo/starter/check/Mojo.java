@@ -0,0 +1,57 @@
+package com.github.mavenhaus.mojo.starter.check;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.resolve.Fingerprint;
+import com.github.mavenhaus.mojo.starter.resolve.ProjectResolver;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * This MOJO realizes the goal <code>starter:check</code> that verifies that the resolved POM is current, i.e. equal to
+ * the one <code>{@link com.github.mavenhaus.mojo.starter.resolve.Mojo starter:resolve}</code> would generate with the
+ * same configuration, without writing anything. If the {@link Fingerprint fingerprint} stored next to the resolved POM
+ * matches the current inputs only the values of the resolved expressions are compared, otherwise the resolved content
+ * is regenerated in memory and compared with the resolved POM file on the fly.<br>
+ * The build fails with the changed expressions and the first line which differs.
+ */
+@org.apache.maven.plugins.annotations.Mojo(name = "check", requiresProject = true, requiresDirectInvocation = false, threadSafe = true)
+public class Mojo extends com.github.mavenhaus.mojo.starter.resolve.Mojo {
+
+  /**
+   * Creates a new instance of {@link Mojo check mojo}.
+   */
+  public Mojo() {
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    buildCmdlimeMatchers();
+
+    new ProjectResolver(this, getProject(), getEffectiveMatchers()).check();
+
+    logValueCacheStatistics();
+  }
+
+}
@@ -27,7 +27,8 @@ import org.apache.maven.plugin.MojoFailureException;
 /**
  * This MOJO realizes the goal <code>starter:clean</code> that deletes any files created by
  * <code>{@link com.github.mavenhaus.mojo.starter.resolve.Mojo starter:resolve}</code>
- * (more specific the resolved POM file which is by default <code>.resolved-pom.xml</code>).
+ * (more specific the resolved POM file which is by default <code>.resolved-pom.xml</code>, its fingerprint
+ * and its timings).
  */
 @org.apache.maven.plugins.annotations.Mojo(name = "clean", requiresProject = true, requiresDirectInvocation = false, executionStrategy = "once-per-session", threadSafe = true)
 public class Mojo extends AbstractMojo {
@@ -44,13 +45,17 @@ public class Mojo extends AbstractMojo {
    */
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
-    File resolvedPomFile = getResolvedPomFile();
+    deleteFile(getResolvedPomFile());
+    deleteFile(getFingerprintFile());
+    deleteFile(getTimingsFile());
+  }
 
-    if (resolvedPomFile.isFile()) {
-      getLog().info("Deleting " + resolvedPomFile.getPath());
-      boolean deleted = resolvedPomFile.delete();
+  private void deleteFile(File file) throws MojoFailureException {
+    if (file.isFile()) {
+      getLog().info("Deleting " + file.getPath());
+      boolean deleted = file.delete();
       if (!deleted) {
-        throw new MojoFailureException("Could not delete " + resolvedPomFile.getAbsolutePath());
+        throw new MojoFailureException("Could not delete " + file.getAbsolutePath());
       }
     }
   }
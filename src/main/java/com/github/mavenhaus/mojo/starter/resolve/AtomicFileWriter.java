@@ -0,0 +1,362 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This {@link Writer} writes a file atomically and only if its content changes.
+ * The characters are encoded into a reusable direct buffer and written to a temporary file next to the target
+ * while their digest is computed. On {@link #commit()} the digest is compared with the digest of the existing file:
+ * an unchanged file is left untouched, otherwise the temporary file is moved atomically over the target so a
+ * concurrent reader never sees a partially written file. The replaced file keeps its permissions, a new file gets the
+ * default permissions of the process. The memory used does not depend on the size of the file.
+ * As the buffers are reused, a thread can only have one {@link AtomicFileWriter} open at a time.
+ */
+public class AtomicFileWriter extends Writer {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * The direct buffers reused by the writers of a thread.
+   */
+  private static final ThreadLocal<ByteBuffer> WRITE_BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+  /**
+   * The direct buffers reused to read the existing files of a thread.
+   */
+  private static final ThreadLocal<ByteBuffer> READ_BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+  private final Path target;
+
+  private final Path tempFile;
+
+  private final FileChannel channel;
+
+  private final CharsetEncoder encoder;
+
+  private final CharBuffer chars;
+
+  private final ByteBuffer bytes;
+
+  private final MessageDigest digest;
+
+  private long length;
+
+  private boolean closed;
+
+  /**
+   * The digest of the written content, known once the writer is committed.
+   */
+  private byte[] writtenDigest;
+
+  /**
+   * The digest of the existing target file computed concurrently, may be <code>null</code>.
+   */
+  private Future<byte[]> existingDigest;
+
+  /**
+   * Creates a new instance of {@link AtomicFileWriter}.
+   *
+   * @param file the target {@link File}, its directory has to exist.
+   * @param charset the {@link Charset} used to encode the characters.
+   * @throws IOException if the temporary file cannot be created.
+   */
+  public AtomicFileWriter(File file, Charset charset) throws IOException {
+    this.target = file.toPath();
+    this.tempFile = createTempFile(target);
+    this.channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    this.encoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = CharBuffer.allocate(BUFFER_SIZE);
+    this.bytes = WRITE_BUFFERS.get();
+    this.bytes.clear();
+    this.digest = Fingerprint.newDigest();
+    this.length = 0;
+    this.closed = false;
+  }
+
+  /**
+   * Creates an empty temporary file next to the given target, to be moved over it once written.
+   * Unlike {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute[])}, which restricts
+   * the file to its owner, the file is created with the default permissions of the process, i.e. honoring the umask,
+   * and takes the permissions of the target if it exists already.
+   *
+   * @param target the target file, its directory has to exist.
+   * @return the temporary file.
+   * @throws IOException if the file cannot be created.
+   */
+  public static Path createTempFile(Path target) throws IOException {
+    Path directory = target.toAbsolutePath().getParent();
+    Path tempFile;
+    while (true) {
+      tempFile = directory.resolve(target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong())
+          + TEMP_FILE_SUFFIX);
+      try {
+        Files.createFile(tempFile);
+        break;
+      } catch (FileAlreadyExistsException e) {
+        // name taken, retry with another one
+      }
+    }
+
+    PosixFileAttributeView targetAttributes = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+    if (targetAttributes != null && Files.isRegularFile(target)) {
+      try {
+        Files.getFileAttributeView(tempFile, PosixFileAttributeView.class)
+            .setPermissions(targetAttributes.readAttributes().permissions());
+      } catch (IOException e) {
+        Files.deleteIfExists(tempFile);
+        throw e;
+      }
+    }
+    return tempFile;
+  }
+
+  /**
+   * Computes the digest of the given file.
+   *
+   * @param file the file.
+   * @return the digest of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  public static byte[] digest(Path file) throws IOException {
+    MessageDigest fileDigest = Fingerprint.newDigest();
+    ByteBuffer buffer = READ_BUFFERS.get();
+    try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer.clear();
+      while (fileChannel.read(buffer) != -1) {
+        buffer.flip();
+        fileDigest.update(buffer);
+        buffer.clear();
+      }
+    }
+    return fileDigest.digest();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int count = Math.min(len, chars.remaining());
+      chars.put(cbuf, off, count);
+      off += count;
+      len -= count;
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int count = Math.min(len, chars.remaining());
+      chars.put(str, off, off + count);
+      off += count;
+      len -= count;
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The content is only written to the temporary file, see {@link #commit()}.
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    encode(false);
+    drain();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Finishes the temporary file without committing it.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      encode(true);
+      while (encoder.flush(bytes).isOverflow()) {
+        drain();
+      }
+      drain();
+    } finally {
+      closed = true;
+      channel.close();
+    }
+  }
+
+  /**
+   * Closes the writer and replaces the target file with the written content unless it has the same content already.
+   *
+   * @return <code>true</code> if the target file has been replaced, <code>false</code> if it was unchanged.
+   * @throws IOException if the file cannot be replaced.
+   */
+  public boolean commit() throws IOException {
+    close();
+
+    writtenDigest = digest.digest();
+    if (Files.isRegularFile(target) && Files.size(target) == length
+        && Arrays.equals(getExistingDigest(), writtenDigest)) {
+      Files.deleteIfExists(tempFile);
+      return false;
+    }
+
+    try {
+      Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return true;
+  }
+
+  /**
+   * Closes the writer and deletes the temporary file if it has not been committed.
+   */
+  public void discard() {
+    try {
+      close();
+    } catch (IOException ignore) {
+      /* ignore */
+    }
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException ignore) {
+      /* ignore */
+    }
+  }
+
+  /**
+   * Sets the digest of the existing target file computed concurrently while the content is written, so
+   * {@link #commit()} does not read the target file once the content is written. If the concurrent read fails, the
+   * target file is read again by {@link #commit()}.
+   *
+   * @param existingDigest the digest of the target file, <code>null</code> if it did not exist.
+   */
+  public void setExistingDigest(Future<byte[]> existingDigest) {
+    this.existingDigest = existingDigest;
+  }
+
+  /**
+   * Returns the number of bytes written.
+   *
+   * @return the number of bytes written.
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Returns the digest of the written content.
+   *
+   * @return the digest of the written content, <code>null</code> until the writer is committed.
+   */
+  public byte[] getDigest() {
+    return writtenDigest;
+  }
+
+  private byte[] getExistingDigest() throws IOException {
+    byte[] targetDigest = null;
+    if (existingDigest != null) {
+      try {
+        targetDigest = existingDigest.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while digesting " + target, e);
+      } catch (ExecutionException e) {
+        // the concurrent read is only an optimization, the file is read again to report an actual failure
+        return digest(target);
+      }
+    }
+    return targetDigest != null ? targetDigest : digest(target);
+  }
+
+  private void encode(boolean endOfInput) throws IOException {
+    chars.flip();
+    while (true) {
+      CoderResult result = encoder.encode(chars, bytes, endOfInput);
+      if (result.isOverflow()) {
+        drain();
+      } else if (result.isUnderflow()) {
+        break;
+      } else {
+        result.throwException();
+      }
+    }
+    chars.compact();
+  }
+
+  private void drain() throws IOException {
+    bytes.flip();
+    digest.update(bytes.duplicate());
+    length += bytes.remaining();
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    bytes.clear();
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Writer closed");
+    }
+  }
+
+}
@@ -0,0 +1,233 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+
+/**
+ * This {@link Writer} compares the characters written to it with the content of an existing file instead of writing
+ * them. The file is decoded and read in step with the written characters, so nothing is buffered beyond the current
+ * line. Once a difference is found the remaining characters are only consumed to complete the line of the difference,
+ * which is kept with the line of the file for reporting.
+ */
+public class ContentComparingWriter extends Writer {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader existing;
+
+  private final char[] buffer;
+
+  private int position;
+
+  private int limit;
+
+  /**
+   * The characters of the current line written so far, they are equal in both contents until a difference is found.
+   */
+  private final StringBuilder line;
+
+  private int lineNumber;
+
+  private boolean different;
+
+  private String expectedLine;
+
+  private String actualLine;
+
+  private boolean closed;
+
+  /**
+   * Creates a new instance of {@link ContentComparingWriter}.
+   *
+   * @param file the existing {@link File} to compare with.
+   * @param charset the {@link Charset} used to decode the file.
+   * @throws IOException if the file cannot be opened.
+   */
+  public ContentComparingWriter(File file, Charset charset) throws IOException {
+    this.existing = new InputStreamReader(Files.newInputStream(file.toPath()), charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    this.buffer = new char[BUFFER_SIZE];
+    this.position = 0;
+    this.limit = 0;
+    this.line = new StringBuilder();
+    this.lineNumber = 1;
+    this.different = false;
+    this.closed = false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    ensureOpen();
+    for (int i = off; i < off + len; i++) {
+      compare(cbuf[i]);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    ensureOpen();
+    for (int i = off; i < off + len; i++) {
+      compare(str.charAt(i));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Checks that the file has no more content than written.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      if (!different) {
+        int next = read();
+        if (next != -1) {
+          markDifferent(next);
+        }
+      }
+      if (different && expectedLine == null) {
+        expectedLine = line.toString();
+      }
+    } finally {
+      closed = true;
+      existing.close();
+    }
+  }
+
+  /**
+   * Returns whether the written content is equal to the content of the file. Only complete once the writer is closed.
+   *
+   * @return <code>true</code> if no difference has been found.
+   */
+  public boolean isEqual() {
+    return !different;
+  }
+
+  /**
+   * Returns the number of the first line which differs.
+   *
+   * @return the number of the first line which differs, starting at 1.
+   */
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Returns the first line which differs as written.
+   *
+   * @return the line as written or <code>null</code> if the contents are equal.
+   */
+  public String getExpectedLine() {
+    return expectedLine;
+  }
+
+  /**
+   * Returns the first line which differs as found in the file.
+   *
+   * @return the line of the file or <code>null</code> if the contents are equal.
+   */
+  public String getActualLine() {
+    return actualLine;
+  }
+
+  private void compare(char c) throws IOException {
+    if (different) {
+      if (expectedLine == null) {
+        if (c == '\n') {
+          expectedLine = line.toString();
+        } else {
+          line.append(c);
+        }
+      }
+      return;
+    }
+
+    int next = read();
+    if (next != c) {
+      markDifferent(next);
+      compare(c);
+    } else if (c == '\n') {
+      line.setLength(0);
+      lineNumber++;
+    } else {
+      line.append(c);
+    }
+  }
+
+  /**
+   * Records the line of the file containing the given character which differs from the written content.
+   *
+   * @param next the character of the file or <code>-1</code> at its end.
+   * @throws IOException if the file cannot be read.
+   */
+  private void markDifferent(int next) throws IOException {
+    different = true;
+    StringBuilder fileLine = new StringBuilder(line);
+    for (int c = next; c != -1 && c != '\n'; c = read()) {
+      fileLine.append((char) c);
+    }
+    actualLine = fileLine.toString();
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      limit = existing.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Writer closed");
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * This class answers the coordinate expressions of a project (e.g. <code>${project.version}</code>) from a table of
+ * the getters of the project instead of the reflective evaluator. A starter parent refers to its sibling modules with
+ * its own coordinates, so these expressions are the most frequent ones of its <code>dependencyManagement</code>.
+ */
+public final class CoordinateExpressions {
+
+  /**
+   * The coordinate expressions and the getters of their values.
+   */
+  private static final Map<String, Function<MavenProject, String>> COORDINATES;
+
+  static {
+    Map<String, Function<MavenProject, String>> coordinates = new HashMap<>();
+    for (String root : new String[] {"project", "pom"}) {
+      coordinates.put("${" + root + ".groupId}", MavenProject::getGroupId);
+      coordinates.put("${" + root + ".artifactId}", MavenProject::getArtifactId);
+      coordinates.put("${" + root + ".version}", MavenProject::getVersion);
+    }
+    COORDINATES = Collections.unmodifiableMap(coordinates);
+  }
+
+  /**
+   * Creates a new instance of {@link CoordinateExpressions}.
+   */
+  private CoordinateExpressions() {
+    super();
+  }
+
+  /**
+   * Returns the value of the given coordinate expression of a project, read from the project itself.
+   *
+   * @param project the project the expression is evaluated for.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @return the value or <code>null</code> if the expression is not a coordinate.
+   */
+  public static String evaluate(MavenProject project, String expression) {
+    Function<MavenProject, String> coordinate = COORDINATES.get(expression);
+    return coordinate != null ? coordinate.apply(project) : null;
+  }
+
+}
@@ -0,0 +1,191 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+
+/**
+ * This class writes concrete coordinates into the dependencies of a resolved model.
+ * The coordinates are taken from the effective model of the project, which Maven has already built: its dependencies
+ * are interpolated and carry the version, scope and exclusions of the <code>dependencyManagement</code> including the
+ * imported BOMs and the parent chain. The dependencies of the profiles, which are not part of the effective model
+ * unless active, are interpolated and managed by the effective <code>dependencyManagement</code>.<br>
+ * As no dependency of a project which is not a POM relies on them anymore, the imported BOMs are removed from its
+ * <code>dependencyManagement</code>.
+ */
+public class DependencyFlattener {
+
+  private static final String POM_PACKAGING = "pom";
+
+  private static final String IMPORT_SCOPE = "import";
+
+  private static final String COMPILE_SCOPE = "compile";
+
+  private static final String SYSTEM_SCOPE = "system";
+
+  /**
+   * The dependencies of the effective model by management key.
+   */
+  private final Map<String, Dependency> effectiveDependencies;
+
+  /**
+   * The managed dependencies of the effective model by management key.
+   */
+  private final Map<String, Dependency> managedDependencies;
+
+  private final String packaging;
+
+  /**
+   * The {@link ParameterResolvingWriter.Resolver} returning the value of any expression.
+   */
+  private final ParameterResolvingWriter.Resolver evaluator;
+
+  /**
+   * Creates a new instance of {@link DependencyFlattener}.
+   *
+   * @param effectiveModel the effective model of the project.
+   * @param evaluator the {@link ParameterResolvingWriter.Resolver} returning the value of any expression.
+   */
+  public DependencyFlattener(Model effectiveModel, ParameterResolvingWriter.Resolver evaluator) {
+    this.effectiveDependencies = index(effectiveModel.getDependencies());
+    DependencyManagement dependencyManagement = effectiveModel.getDependencyManagement();
+    this.managedDependencies = dependencyManagement == null ? Collections.emptyMap()
+        : index(dependencyManagement.getDependencies());
+    this.packaging = effectiveModel.getPackaging();
+    this.evaluator = evaluator;
+  }
+
+  private static Map<String, Dependency> index(List<Dependency> dependencies) {
+    Map<String, Dependency> dependenciesByKey = new HashMap<>();
+    for (Dependency dependency : dependencies) {
+      dependenciesByKey.putIfAbsent(dependency.getManagementKey(), dependency);
+    }
+    return dependenciesByKey;
+  }
+
+  /**
+   * Writes concrete coordinates into the dependencies of the given model in place.
+   * The dependencies are copied before being changed, so they may be shared with the original model as done by
+   * {@link ModelCopier#copyForEditing(Model)}, the lists holding them have to belong to the given model.
+   *
+   * @param model the resolved model to be changed.
+   * @throws IOException if an expression cannot be evaluated.
+   */
+  public void flatten(Model model) throws IOException {
+    List<Dependency> dependencies = model.getDependencies();
+    for (int i = 0; i < dependencies.size(); i++) {
+      Dependency dependency = dependencies.get(i).clone();
+      flatten(dependency, effectiveDependencies.get(getManagementKey(dependency)));
+      dependencies.set(i, dependency);
+    }
+    for (Profile profile : model.getProfiles()) {
+      List<Dependency> profileDependencies = profile.getDependencies();
+      for (int i = 0; i < profileDependencies.size(); i++) {
+        Dependency dependency = profileDependencies.get(i).clone();
+        flatten(dependency, null);
+        profileDependencies.set(i, dependency);
+      }
+    }
+
+    DependencyManagement dependencyManagement = model.getDependencyManagement();
+    if (!POM_PACKAGING.equals(packaging) && dependencyManagement != null) {
+      dependencyManagement.getDependencies().removeIf(dependency -> IMPORT_SCOPE.equals(dependency.getScope()));
+      if (dependencyManagement.getDependencies().isEmpty()) {
+        model.setDependencyManagement(null);
+      }
+    }
+  }
+
+  /**
+   * Interpolates the coordinates of the given dependency, then sets the version and the management of the matching
+   * effective or managed dependency.
+   *
+   * @param dependency the dependency to be changed.
+   * @param effectiveDependency the matching dependency of the effective model, may be <code>null</code>.
+   * @throws IOException if an expression cannot be evaluated.
+   */
+  private void flatten(Dependency dependency, Dependency effectiveDependency) throws IOException {
+    String key = getManagementKey(dependency);
+    dependency.setGroupId(interpolate(dependency.getGroupId()));
+    dependency.setArtifactId(interpolate(dependency.getArtifactId()));
+    dependency.setType(interpolate(dependency.getType()));
+    dependency.setClassifier(interpolate(dependency.getClassifier()));
+    dependency.setVersion(interpolate(dependency.getVersion()));
+    dependency.setScope(interpolate(dependency.getScope()));
+    dependency.setSystemPath(interpolate(dependency.getSystemPath()));
+
+    Dependency source = effectiveDependency;
+    if (source == null && dependency.getVersion() == null) {
+      source = managedDependencies.get(key);
+    }
+    if (source == null) {
+      return;
+    }
+
+    dependency.setVersion(source.getVersion());
+    if (dependency.getScope() == null && !COMPILE_SCOPE.equals(source.getScope())) {
+      dependency.setScope(source.getScope());
+    }
+    if (dependency.getOptional() == null) {
+      dependency.setOptional(source.getOptional());
+    }
+    if (dependency.getExclusions().isEmpty() && !source.getExclusions().isEmpty()) {
+      List<Exclusion> exclusions = new ArrayList<>();
+      for (Exclusion exclusion : source.getExclusions()) {
+        exclusions.add(exclusion.clone());
+      }
+      dependency.setExclusions(exclusions);
+    }
+    if (SYSTEM_SCOPE.equals(dependency.getScope()) && dependency.getSystemPath() == null) {
+      dependency.setSystemPath(source.getSystemPath());
+    }
+  }
+
+  /**
+   * Returns the management key of the given dependency with its coordinates interpolated.
+   *
+   * @param dependency the dependency.
+   * @return the management key.
+   * @throws IOException if an expression cannot be evaluated.
+   */
+  private String getManagementKey(Dependency dependency) throws IOException {
+    Dependency interpolated = new Dependency();
+    interpolated.setGroupId(interpolate(dependency.getGroupId()));
+    interpolated.setArtifactId(interpolate(dependency.getArtifactId()));
+    interpolated.setType(interpolate(dependency.getType()));
+    interpolated.setClassifier(interpolate(dependency.getClassifier()));
+    return interpolated.getManagementKey();
+  }
+
+  private String interpolate(String value) throws IOException {
+    return ModelParameterResolver.resolve(value, evaluator);
+  }
+
+}
@@ -0,0 +1,181 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * This {@link ParameterResolvingWriter.Resolver} resolves nested and chained parameter expressions.
+ * The expressions form a dependency graph: an expression depends on the expressions nested in it, e.g.
+ * <code>${a.${b}}</code> depends on <code>${b}</code>, and on the expressions contained in its value. The nested
+ * expressions are resolved first, then the resulting expression is resolved by the underlying
+ * {@link ParameterResolvingWriter.Resolver} and the expressions of its value are resolved in turn.<br>
+ * Every expression is resolved once, its result is memoized for all the places referencing it. An expression
+ * depending on itself or exceeding the maximum depth is logged once and kept unchanged. Such a cut-off depends on the
+ * path the expression is reached from, so a result depending on a cut-off is not memoized but resolved again from the
+ * next place referencing it. A memoized result is only reused where its chain fits within the maximum depth, so the
+ * result of an expression does not depend on the order the expressions are met.
+ */
+public class ExpressionGraph implements ParameterResolvingWriter.Resolver {
+
+  private static final String PARAM_START = "${";
+
+  private static final String PARAM_END = "}";
+
+  private final ParameterResolvingWriter.Resolver resolver;
+
+  private final int maxDepth;
+
+  private final Log log;
+
+  /**
+   * The resolved expressions mapped to their results.
+   */
+  private final Map<String, Result> results;
+
+  /**
+   * The expressions being resolved, from the outermost to the innermost one.
+   */
+  private final Set<String> path;
+
+  /**
+   * The number of expressions kept unchanged because they depend on themselves or exceed the maximum depth.
+   */
+  private int cutOffs;
+
+  /**
+   * The size of the longest path reached while resolving the current expression.
+   */
+  private int reached;
+
+  /**
+   * The expressions whose cut-off has been logged already.
+   */
+  private final Set<String> warnings;
+
+  /**
+   * Creates a new instance of {@link ExpressionGraph}.
+   *
+   * @param resolver the {@link ParameterResolvingWriter.Resolver} resolving a flat expression.
+   * @param maxDepth the maximum depth of the nested and chained expressions.
+   * @param log the {@link Log} reporting the expressions which cannot be resolved.
+   */
+  public ExpressionGraph(ParameterResolvingWriter.Resolver resolver, int maxDepth, Log log) {
+    this.resolver = resolver;
+    this.maxDepth = maxDepth;
+    this.log = log;
+    this.results = new HashMap<>();
+    this.path = new LinkedHashSet<>();
+    this.warnings = new HashSet<>();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String resolve(String expression) throws IOException {
+    int depth = path.size();
+    Result result = results.get(expression);
+    if (result != null && depth + result.height <= maxDepth) {
+      reached = Math.max(reached, depth + result.height);
+      return result.value;
+    }
+
+    int previousCutOffs = cutOffs;
+    int previousReached = reached;
+    reached = depth;
+    String value = resolveNode(expression);
+    if (cutOffs == previousCutOffs) {
+      results.put(expression, new Result(value, reached - depth));
+    }
+    reached = Math.max(previousReached, reached);
+    return value;
+  }
+
+  /**
+   * Resolves the nested expressions of the given expression, the expression itself and the expressions of its value.
+   *
+   * @param expression the whole expression including <code>${</code> and <code>}</code>.
+   * @return the result, the expression itself if it has to be kept.
+   * @throws IOException if anything goes wrong.
+   */
+  private String resolveNode(String expression) throws IOException {
+    if (path.contains(expression)) {
+      cutOffs++;
+      if (warnings.add(expression)) {
+        log.warn("The parameter expression " + expression + " depends on itself: " + String.join(" -> ", path) + " -> "
+            + expression + ". Parameter not resolved.");
+      }
+      return expression;
+    }
+    if (path.size() >= maxDepth) {
+      cutOffs++;
+      if (warnings.add(expression)) {
+        log.warn("The parameter expression " + expression + " exceeds the maximum depth of " + maxDepth
+            + ". Parameter not resolved.");
+      }
+      return expression;
+    }
+
+    path.add(expression);
+    reached = Math.max(reached, path.size());
+    try {
+      String name = expression.substring(PARAM_START.length(), expression.length() - PARAM_END.length());
+      String resolvedName = ModelParameterResolver.resolve(name, this);
+      if (!resolvedName.equals(name)) {
+        // the nested expressions have been replaced, the result is another node of the graph
+        return resolve(PARAM_START + resolvedName + PARAM_END);
+      }
+
+      String value = resolver.resolve(expression);
+      if (value.equals(expression) || !value.contains(PARAM_START)) {
+        return value;
+      }
+      return ModelParameterResolver.resolve(value, this);
+    } finally {
+      path.remove(expression);
+    }
+  }
+
+  /**
+   * This is the memoized result of an expression not depending on any cut-off.
+   */
+  private static final class Result {
+
+    private final String value;
+
+    /**
+     * The length of the longest chain of expressions the value has been resolved through, including the expression.
+     */
+    private final int height;
+
+    private Result(String value, int height) {
+      this.value = value;
+      this.height = height;
+    }
+  }
+
+}
@@ -0,0 +1,161 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+/**
+ * This is a {@link LruCache} of the values loaded from files. A value is valid as long as the size and the
+ * modification time of its file are unchanged. As a file changed twice within the granularity of the modification
+ * time would keep the same state, the state of a file modified less than {@link #RACY_WINDOW_MILLIS} before it was
+ * accessed is not trusted: the digest of its content is kept with the value and the file is digested again on each
+ * access, the value being loaded again only if the content has changed, until the file is old enough for its state to
+ * be trusted.
+ * <p>
+ * Out of the racy window no content is read, which is the cost this cache saves. The trade-off is that a file
+ * rewritten with the same size and given back its former modification time once it is out of the racy window, e.g. by
+ * <code>touch -r</code> or an archive extraction, keeps its former value until it leaves the cache.
+ *
+ * @param <V> the type of the values.
+ */
+public final class FileStateCache<V> {
+
+  /**
+   * The time after its modification from which the state of a file is trusted, covering the coarsest file system
+   * timestamp granularity.
+   */
+  static final long RACY_WINDOW_MILLIS = 2000;
+
+  /**
+   * This loads the value of a file.
+   *
+   * @param <V> the type of the value.
+   */
+  @FunctionalInterface
+  public interface Loader<V> {
+
+    /**
+     * Loads the value of the given file.
+     *
+     * @param file the file.
+     * @return the value, <code>null</code> is not cached.
+     * @throws IOException if the file cannot be read.
+     */
+    V load(Path file) throws IOException;
+  }
+
+  private final LruCache<Path, Entry<V>> entries;
+
+  /**
+   * Creates a new instance of {@link FileStateCache}.
+   *
+   * @param name the name of the cache reported by {@link #toString()}.
+   * @param maxSize the maximum number of files.
+   */
+  public FileStateCache(String name, int maxSize) {
+    this.entries = new LruCache<>(name, maxSize);
+  }
+
+  /**
+   * Returns the value of the given file, loads it if it is not cached or the file has changed.
+   *
+   * @param file the file.
+   * @param loader the {@link Loader} of the value.
+   * @return the value.
+   * @throws IOException if the file cannot be read.
+   */
+  public V get(File file, Loader<V> loader) throws IOException {
+    Path path = file.toPath().toAbsolutePath();
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      entries.remove(path);
+      return loader.load(path);
+    }
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    long size = attributes.size();
+
+    long accessTime = System.currentTimeMillis();
+    boolean racy = accessTime - lastModified < RACY_WINDOW_MILLIS;
+    Entry<V> entry = entries.get(path);
+    if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+      if (entry.contentDigest == null) {
+        return entry.value;
+      }
+      byte[] contentDigest = AtomicFileWriter.digest(path);
+      if (Arrays.equals(entry.contentDigest, contentDigest)) {
+        entries.put(path, new Entry<>(lastModified, size, racy ? contentDigest : null, entry.value));
+        return entry.value;
+      }
+    }
+
+    // the content is digested before the value is loaded, so a change in between is detected by the next access
+    byte[] contentDigest = racy ? AtomicFileWriter.digest(path) : null;
+    V value = loader.load(path);
+    if (value == null) {
+      entries.remove(path);
+    } else {
+      entries.put(path, new Entry<>(lastModified, size, contentDigest, value));
+    }
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return entries.toString();
+  }
+
+  /**
+   * This is the value of a file with the state of the file it was loaded from.
+   *
+   * @param <V> the type of the value.
+   */
+  private static final class Entry<V> {
+
+    private final long lastModified;
+
+    private final long size;
+
+    /**
+     * The digest of the content of the file if its state cannot be trusted yet, <code>null</code> otherwise.
+     */
+    private final byte[] contentDigest;
+
+    private final V value;
+
+    private Entry(long lastModified, long size, byte[] contentDigest, V value) {
+      this.lastModified = lastModified;
+      this.size = size;
+      this.contentDigest = contentDigest;
+      this.value = value;
+    }
+  }
+
+}
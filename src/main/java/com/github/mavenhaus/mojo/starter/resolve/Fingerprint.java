@@ -0,0 +1,308 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * This is the fingerprint of a resolved POM.
+ * It consists of the digest of the inputs the resolved POM was generated from (original POM, parent chain,
+ * configuration, effective {@link Matcher matchers}), the length, the digest of the content and the modification time
+ * of the generated file and the values of every expression that has been resolved. The fingerprint is stored next to
+ * the resolved POM and allows to skip the generation if nothing has changed since the last build.
+ */
+public class Fingerprint {
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  private static final String DIGEST_KEY = "digest";
+
+  private static final String LENGTH_KEY = "length";
+
+  private static final String CONTENT_DIGEST_KEY = "contentDigest";
+
+  private static final String LAST_MODIFIED_KEY = "lastModified";
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * The hex encoded digest of the inputs.
+   */
+  private final String digest;
+
+  /**
+   * The length of the resolved POM file in bytes.
+   */
+  private final long length;
+
+  /**
+   * The hex encoded digest of the content of the resolved POM file, may be <code>null</code>.
+   */
+  private final String contentDigest;
+
+  /**
+   * The modification time of the resolved POM file in milliseconds, <code>0</code> if it is not known.
+   */
+  private final long lastModified;
+
+  /**
+   * The resolved expressions (including <code>${</code> and <code>}</code>) mapped to their values.
+   */
+  private final Map<String, String> values;
+
+  /**
+   * Creates a new instance of {@link Fingerprint}.
+   *
+   * @param digest the hex encoded digest of the inputs.
+   * @param length the length of the resolved POM file in bytes.
+   * @param values the resolved expressions mapped to their values.
+   */
+  public Fingerprint(String digest, long length, Map<String, String> values) {
+    this(digest, length, null, values);
+  }
+
+  /**
+   * Creates a new instance of {@link Fingerprint}.
+   *
+   * @param digest the hex encoded digest of the inputs.
+   * @param length the length of the resolved POM file in bytes.
+   * @param contentDigest the hex encoded digest of the content of the resolved POM file, may be <code>null</code>.
+   * @param values the resolved expressions mapped to their values.
+   */
+  public Fingerprint(String digest, long length, String contentDigest, Map<String, String> values) {
+    this(digest, length, contentDigest, 0, values);
+  }
+
+  /**
+   * Creates a new instance of {@link Fingerprint}.
+   *
+   * @param digest the hex encoded digest of the inputs.
+   * @param length the length of the resolved POM file in bytes.
+   * @param contentDigest the hex encoded digest of the content of the resolved POM file, may be <code>null</code>.
+   * @param lastModified the modification time of the resolved POM file in milliseconds, <code>0</code> if unknown.
+   * @param values the resolved expressions mapped to their values.
+   */
+  public Fingerprint(String digest, long length, String contentDigest, long lastModified,
+      Map<String, String> values) {
+    this.digest = digest;
+    this.length = length;
+    this.contentDigest = contentDigest;
+    this.lastModified = lastModified;
+    this.values = Collections.unmodifiableMap(new TreeMap<>(values));
+  }
+
+  /**
+   * Creates a new {@link MessageDigest} used to compute the digest of the inputs.
+   *
+   * @return the new {@link MessageDigest}.
+   */
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported by the JVM", e);
+    }
+  }
+
+  /**
+   * Returns the hex encoded form of the given digest.
+   *
+   * @param digest the digest bytes.
+   * @return the hex encoded digest.
+   */
+  public static String toHex(byte[] digest) {
+    char[] chars = new char[digest.length * 2];
+    for (int i = 0; i < digest.length; i++) {
+      chars[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+      chars[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Reads the fingerprint from the given file.
+   *
+   * @param file the fingerprint file.
+   * @return the fingerprint or <code>null</code> if the file does not exist or is not a valid fingerprint.
+   */
+  public static Fingerprint read(File file) {
+    if (!file.isFile()) {
+      return null;
+    }
+
+    Properties properties = new Properties();
+    try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+
+    String digest = properties.getProperty(DIGEST_KEY);
+    String length = properties.getProperty(LENGTH_KEY);
+    String contentDigest = properties.getProperty(CONTENT_DIGEST_KEY);
+    String lastModified = properties.getProperty(LAST_MODIFIED_KEY, "0");
+    if (digest == null || length == null) {
+      return null;
+    }
+
+    Map<String, String> values = new TreeMap<>();
+    for (String key : properties.stringPropertyNames()) {
+      if (!DIGEST_KEY.equals(key) && !LENGTH_KEY.equals(key) && !CONTENT_DIGEST_KEY.equals(key)
+          && !LAST_MODIFIED_KEY.equals(key)) {
+        values.put(key, properties.getProperty(key));
+      }
+    }
+
+    try {
+      return new Fingerprint(digest, Long.parseLong(length), contentDigest, Long.parseLong(lastModified), values);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes the fingerprint to the given file in the {@link Properties} format.
+   * Unlike {@link Properties#store(Writer, String)} no timestamp is written, so an unchanged fingerprint
+   * results in an unchanged file.
+   *
+   * @param file the fingerprint file.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(File file) throws IOException {
+    try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+      writeEntry(writer, DIGEST_KEY, digest);
+      writeEntry(writer, LENGTH_KEY, Long.toString(length));
+      if (contentDigest != null) {
+        writeEntry(writer, CONTENT_DIGEST_KEY, contentDigest);
+      }
+      if (lastModified != 0) {
+        writeEntry(writer, LAST_MODIFIED_KEY, Long.toString(lastModified));
+      }
+      for (Map.Entry<String, String> entry : values.entrySet()) {
+        writeEntry(writer, entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private static void writeEntry(Writer writer, String key, String value) throws IOException {
+    writer.write(escape(key, true));
+    writer.write('=');
+    writer.write(escape(value, false));
+    writer.write('\n');
+  }
+
+  private static String escape(String text, boolean key) {
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\':
+          escaped.append("\\\\");
+          break;
+        case '\n':
+          escaped.append("\\n");
+          break;
+        case '\r':
+          escaped.append("\\r");
+          break;
+        case '\t':
+          escaped.append("\\t");
+          break;
+        case '\f':
+          escaped.append("\\f");
+          break;
+        case '=':
+        case ':':
+        case '#':
+        case '!':
+          escaped.append('\\').append(c);
+          break;
+        case ' ':
+          if (key || i == 0) {
+            escaped.append('\\');
+          }
+          escaped.append(c);
+          break;
+        default:
+          escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  /**
+   * Returns the hex encoded digest of the inputs.
+   *
+   * @return the hex encoded digest of the inputs.
+   */
+  public String getDigest() {
+    return digest;
+  }
+
+  /**
+   * Returns the length of the resolved POM file in bytes.
+   *
+   * @return the length of the resolved POM file in bytes.
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Returns the hex encoded digest of the content of the resolved POM file.
+   *
+   * @return the hex encoded digest of the content or <code>null</code> if it is not known.
+   */
+  public String getContentDigest() {
+    return contentDigest;
+  }
+
+  /**
+   * Returns the modification time of the resolved POM file.
+   *
+   * @return the modification time in milliseconds or <code>0</code> if it is not known.
+   */
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * Returns the resolved expressions mapped to their values.
+   *
+   * @return the resolved expressions mapped to their values.
+   */
+  public Map<String, String> getValues() {
+    return values;
+  }
+
+}
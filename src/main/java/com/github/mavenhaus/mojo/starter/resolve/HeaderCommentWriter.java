@@ -0,0 +1,136 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This {@link Writer} inserts the XML header comment right before the <code>&lt;project</code> root tag of the
+ * written POM. Once the comment has been inserted the text is passed through unchanged.
+ */
+public class HeaderCommentWriter extends FilterWriter {
+
+  private static final String PROJECT_TAG = "<project";
+
+  /**
+   * The comment to insert including <code>&lt;!--</code> and <code>--&gt;</code>.
+   */
+  private final String comment;
+
+  /**
+   * The number of characters of {@link #PROJECT_TAG} matched so far.
+   */
+  private int matched;
+
+  /**
+   * <code>true</code> if the comment has already been inserted.
+   */
+  private boolean inserted;
+
+  /**
+   * Creates a new instance of {@link HeaderCommentWriter}.
+   *
+   * @param out the underlying {@link Writer}.
+   * @param headerComment the header comment without <code>&lt;!--</code> and <code>--&gt;</code>.
+   */
+  public HeaderCommentWriter(Writer out, String headerComment) {
+    super(out);
+    this.comment = "<!--" + headerComment + "-->\n";
+    this.matched = 0;
+    this.inserted = false;
+  }
+
+  /**
+   * Returns whether the header comment has been inserted.
+   *
+   * @return <code>true</code> if the header comment has been inserted.
+   */
+  public boolean isInserted() {
+    return inserted;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(int c) throws IOException {
+    if (inserted) {
+      out.write(c);
+    } else if (c == PROJECT_TAG.charAt(matched)) {
+      matched++;
+      if (matched == PROJECT_TAG.length()) {
+        out.write(comment);
+        out.write(PROJECT_TAG);
+        inserted = true;
+      }
+    } else {
+      if (matched > 0) {
+        out.write(PROJECT_TAG, 0, matched);
+        matched = 0;
+        write(c);
+      } else {
+        out.write(c);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    if (inserted) {
+      out.write(cbuf, off, len);
+    } else {
+      for (int i = off; i < off + len; i++) {
+        write(cbuf[i]);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    if (inserted) {
+      out.write(str, off, len);
+    } else {
+      for (int i = off; i < off + len; i++) {
+        write(str.charAt(i));
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() throws IOException {
+    if (!inserted && matched > 0) {
+      out.write(PROJECT_TAG, 0, matched);
+      matched = 0;
+    }
+    super.close();
+  }
+
+}
@@ -0,0 +1,252 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class holds the Java Flight Recorder event types of the resolution. It references the <code>jdk.jfr</code>
+ * module and must only be loaded once {@link ResolveEvents} has checked that the module is available.
+ */
+final class JfrEvents {
+
+  private static final String CATEGORY = "Maven Starter";
+
+  /**
+   * Creates a new instance of {@link JfrEvents}.
+   */
+  private JfrEvents() {
+    super();
+  }
+
+  /**
+   * Begins a {@link ProjectResolveEvent}.
+   *
+   * @return the event.
+   */
+  static Object beginProject() {
+    ProjectResolveEvent event = new ProjectResolveEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commits a {@link ProjectResolveEvent}, see {@link ResolveEvents#commitProject}.
+   *
+   * @param handle the event.
+   * @param projectId the id of the project.
+   * @param upToDate whether the resolved POM was up to date.
+   * @param originalPomFile the original POM file.
+   * @param resolvedPomFile the resolved POM file.
+   */
+  static void commitProject(Object handle, String projectId, boolean upToDate, File originalPomFile,
+      File resolvedPomFile) {
+    ProjectResolveEvent event = (ProjectResolveEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.project = projectId;
+      event.upToDate = upToDate;
+      event.originalBytes = originalPomFile != null ? originalPomFile.length() : 0;
+      event.resolvedBytes = resolvedPomFile.length();
+      event.commit();
+    }
+  }
+
+  /**
+   * Begins an {@link ExpressionEvent}.
+   *
+   * @return the event.
+   */
+  static Object beginExpression() {
+    ExpressionEvent event = new ExpressionEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commits an {@link ExpressionEvent}, see {@link ResolveEvents#commitExpression}.
+   *
+   * @param handle the event.
+   * @param expression the expression.
+   * @param matcherIndex the index of the matching {@link Matcher}.
+   * @param action the {@link Action} of the matching {@link Matcher}.
+   */
+  static void commitExpression(Object handle, String expression, int matcherIndex, Action action) {
+    ExpressionEvent event = (ExpressionEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.expression = expression;
+      event.matcherIndex = matcherIndex;
+      event.action = action != null ? action.name() : null;
+      event.commit();
+    }
+  }
+
+  /**
+   * Begins a {@link ValueLookupEvent}.
+   *
+   * @return the event.
+   */
+  static Object beginValueLookup() {
+    ValueLookupEvent event = new ValueLookupEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commits a {@link ValueLookupEvent}, see {@link ResolveEvents#commitValueLookup}.
+   *
+   * @param handle the event.
+   * @param expression the expression.
+   * @param hit whether the value was cached.
+   */
+  static void commitValueLookup(Object handle, String expression, boolean hit) {
+    ValueLookupEvent event = (ValueLookupEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.expression = expression;
+      event.hit = hit;
+      event.commit();
+    }
+  }
+
+  /**
+   * Begins a {@link FileWriteEvent}.
+   *
+   * @return the event.
+   */
+  static Object beginFileWrite() {
+    FileWriteEvent event = new FileWriteEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Commits a {@link FileWriteEvent}, see {@link ResolveEvents#commitFileWrite}.
+   *
+   * @param handle the event.
+   * @param file the written file.
+   * @param bytes the number of bytes of the content.
+   * @param unchanged whether the write was skipped.
+   */
+  static void commitFileWrite(Object handle, File file, long bytes, boolean unchanged) {
+    FileWriteEvent event = (FileWriteEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.path = file.getPath();
+      event.bytes = bytes;
+      event.unchanged = unchanged;
+      event.commit();
+    }
+  }
+
+  /**
+   * The resolution of the POM of a project.
+   */
+  @Name("com.github.mavenhaus.starter.ProjectResolve")
+  @Label("Project Resolve")
+  @Description("Generation of the resolved POM of a project")
+  @Category(CATEGORY)
+  static final class ProjectResolveEvent extends Event {
+
+    @Label("Project")
+    String project;
+
+    @Label("Up To Date")
+    @Description("Whether the resolved POM was up to date")
+    boolean upToDate;
+
+    @Label("Original Size")
+    @DataAmount
+    long originalBytes;
+
+    @Label("Resolved Size")
+    @DataAmount
+    long resolvedBytes;
+
+  }
+
+  /**
+   * The resolution of an expression of the original POM.
+   */
+  @Name("com.github.mavenhaus.starter.Expression")
+  @Label("Expression")
+  @Description("Resolution of an expression according to the matchers")
+  @Category(CATEGORY)
+  static final class ExpressionEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Matcher Index")
+    @Description("Index of the matching matcher, -1 if none matches")
+    int matcherIndex;
+
+    @Label("Action")
+    String action;
+
+  }
+
+  /**
+   * The lookup of the value of an expression in the value cache.
+   */
+  @Name("com.github.mavenhaus.starter.ValueLookup")
+  @Label("Value Lookup")
+  @Description("Lookup of the value of an expression, evaluated on a cache miss")
+  @Category(CATEGORY)
+  static final class ValueLookupEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Cache Hit")
+    boolean hit;
+
+  }
+
+  /**
+   * The write of a file.
+   */
+  @Name("com.github.mavenhaus.starter.FileWrite")
+  @Label("File Write")
+  @Description("Write of a resolved POM or a fingerprint")
+  @Category(CATEGORY)
+  static final class FileWriteEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Unchanged")
+    @Description("Whether the write was skipped as the file had the same content already")
+    boolean unchanged;
+
+  }
+
+}
@@ -0,0 +1,134 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This is a thread-safe cache holding at most a given number of entries, the least recently used entry is evicted
+ * first. Held in a static field, it lives as long as the class realm of the plugin, i.e. across the builds of a
+ * Maven daemon or of an embedded Maven.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public final class LruCache<K, V> {
+
+  private final String name;
+
+  private final LinkedHashMap<K, V> entries;
+
+  private long hits;
+
+  private long misses;
+
+  /**
+   * Creates a new instance of {@link LruCache}.
+   *
+   * @param name the name of the cache reported by {@link #toString()}.
+   * @param maxSize the maximum number of entries.
+   */
+  public LruCache(String name, int maxSize) {
+    this.name = name;
+    this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the value of the given key.
+   *
+   * @param key the key.
+   * @return the value or <code>null</code> if the key is not cached.
+   */
+  public synchronized V get(K key) {
+    V value = entries.get(key);
+    if (value == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return value;
+  }
+
+  /**
+   * Caches the value of the given key.
+   *
+   * @param key the key.
+   * @param value the value, not <code>null</code>.
+   */
+  public synchronized void put(K key, V value) {
+    entries.put(key, value);
+  }
+
+  /**
+   * Returns the value of the given key, computes and caches it if the key is not cached.
+   * The value is computed outside of the lock, so two threads may compute the value of the same key.
+   *
+   * @param key the key.
+   * @param function the function computing the value.
+   * @return the value.
+   */
+  public V computeIfAbsent(K key, Function<K, V> function) {
+    V value = get(key);
+    if (value == null) {
+      value = function.apply(key);
+      put(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Removes the given key.
+   *
+   * @param key the key.
+   */
+  public synchronized void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return the number of cached entries.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Reports the size, the hits and the misses of the cache.
+   */
+  @Override
+  public synchronized String toString() {
+    return name + ": " + entries.size() + " entries, " + hits + " hits, " + misses + " misses";
+  }
+
+}
@@ -0,0 +1,241 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * This is the immutable, compiled form of an ordered list of {@link Matcher matchers}.
+ * It returns the index of the first matching {@link Matcher} in a single pass over the expression:
+ * literal patterns (e.g. <code>revision</code>) are looked up in a hash map, prefix patterns
+ * (e.g. <code>project.~*</code>) in a trie and only the remaining patterns fall back to regex matching.
+ */
+public final class MatcherSet {
+
+  private static final String REGEX_CHARACTERS = "\\[](){}*+?^$|~";
+
+  private static final String ANY_SUFFIX = "~*";
+
+  /**
+   * The index returned if no {@link Matcher} matches.
+   */
+  public static final int NO_MATCH = -1;
+
+  /**
+   * The compiled {@link MatcherSet matcher sets} by key, kept across the builds of a daemon.
+   */
+  private static final LruCache<String, MatcherSet> COMPILED = new LruCache<>("Compiled matcher sets", 64);
+
+  /**
+   * The {@link Action actions} of the matchers, by index.
+   */
+  private final Action[] actions;
+
+  /**
+   * The literal patterns mapped to the index of their first occurrence.
+   */
+  private final Map<String, Integer> literals;
+
+  /**
+   * The root of the trie of the prefix patterns.
+   */
+  private final Node prefixes;
+
+  /**
+   * The indexes of the patterns that need regex matching, in ascending order.
+   */
+  private final int[] regexIndexes;
+
+  /**
+   * The compiled regex patterns corresponding to {@link #regexIndexes}.
+   */
+  private final Pattern[] regexPatterns;
+
+  /**
+   * Creates a new instance of {@link MatcherSet}.
+   *
+   * @param matchers the ordered list of {@link Matcher matchers}.
+   */
+  private MatcherSet(List<Matcher> matchers) {
+    actions = new Action[matchers.size()];
+    literals = new HashMap<>();
+    prefixes = new Node();
+    List<Integer> regexIndexList = new ArrayList<>();
+    List<Pattern> regexPatternList = new ArrayList<>();
+
+    for (int index = 0; index < matchers.size(); index++) {
+      Matcher matcher = matchers.get(index);
+      String pattern = matcher.getPattern();
+      actions[index] = matcher.getAction();
+
+      if (isLiteral(pattern)) {
+        literals.putIfAbsent(pattern, index);
+      } else if (pattern.endsWith(ANY_SUFFIX) && isLiteral(pattern.substring(0, pattern.length() - ANY_SUFFIX.length()))) {
+        prefixes.add(pattern.substring(0, pattern.length() - ANY_SUFFIX.length()), index);
+      } else {
+        regexIndexList.add(index);
+        regexPatternList.add(matcher.getCompiledPattern());
+      }
+    }
+
+    regexIndexes = regexIndexList.stream().mapToInt(Integer::intValue).toArray();
+    regexPatterns = regexPatternList.toArray(new Pattern[0]);
+  }
+
+  /**
+   * Compiles the given list of {@link Matcher matchers}.
+   *
+   * @param matchers the ordered list of {@link Matcher matchers}.
+   * @return the compiled {@link MatcherSet}.
+   */
+  public static MatcherSet compile(List<Matcher> matchers) {
+    return new MatcherSet(matchers);
+  }
+
+  /**
+   * Returns the compiled form of the given list of {@link Matcher matchers} from the session scoped cache.
+   * All the projects having the same matcher configuration share the same {@link MatcherSet}. As a
+   * {@link MatcherSet} only depends on its key, a missing one is taken from the JVM-lifetime cache, so the builds of
+   * a Maven daemon compile the same configuration once.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param matchers the ordered list of {@link Matcher matchers}.
+   * @return the compiled {@link MatcherSet}.
+   */
+  public static MatcherSet of(MavenSession session, List<Matcher> matchers) {
+    Map<String, MatcherSet> cache = SessionCache.get(session, MatcherSet.class.getName());
+    return cache.computeIfAbsent(getKey(matchers), key -> COMPILED.computeIfAbsent(key, k -> compile(matchers)));
+  }
+
+  /**
+   * Returns the statistics of the JVM-lifetime cache of the compiled {@link MatcherSet matcher sets}.
+   *
+   * @return the statistics of the cache.
+   */
+  public static String getCacheStatistics() {
+    return COMPILED.toString();
+  }
+
+  /**
+   * Returns the key identifying the configuration of the given list of {@link Matcher matchers}.
+   *
+   * @param matchers the ordered list of {@link Matcher matchers}.
+   * @return the key.
+   */
+  public static String getKey(List<Matcher> matchers) {
+    StringBuilder key = new StringBuilder();
+    for (Matcher matcher : matchers) {
+      key.append(matcher.getPattern()).append('\u0000').append(matcher.getAction().name()).append('\n');
+    }
+    return key.toString();
+  }
+
+  private static boolean isLiteral(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      if (REGEX_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the index of the first {@link Matcher} matching the given parameter name.
+   *
+   * @param name the parameter name (without <code>${</code> and <code>}</code>).
+   * @return the index of the first matching {@link Matcher} or {@link #NO_MATCH}.
+   */
+  public int indexOf(String name) {
+    int first = Integer.MAX_VALUE;
+
+    Integer literal = literals.get(name);
+    if (literal != null) {
+      first = literal;
+    }
+
+    Node node = prefixes;
+    for (int i = 0; node != null; i++) {
+      first = Math.min(first, node.index);
+      if (i == name.length()) {
+        break;
+      }
+      node = node.children.get(name.charAt(i));
+    }
+
+    for (int i = 0; i < regexIndexes.length && regexIndexes[i] < first; i++) {
+      if (regexPatterns[i].matcher(name).matches()) {
+        first = regexIndexes[i];
+        break;
+      }
+    }
+
+    return first == Integer.MAX_VALUE ? NO_MATCH : first;
+  }
+
+  /**
+   * Returns the {@link Action} of the {@link Matcher} at the given index.
+   *
+   * @param index the index of the {@link Matcher}.
+   * @return the {@link Action}.
+   */
+  public Action getAction(int index) {
+    return actions[index];
+  }
+
+  /**
+   * Returns the number of {@link Matcher matchers}.
+   *
+   * @return the number of {@link Matcher matchers}.
+   */
+  public int size() {
+    return actions.length;
+  }
+
+  /**
+   * This class is a node of the prefix trie.
+   */
+  private static final class Node {
+
+    /**
+     * The lowest index of the prefix patterns ending at this node.
+     */
+    private int index = Integer.MAX_VALUE;
+
+    /**
+     * The child nodes by character.
+     */
+    private final Map<Character, Node> children = new HashMap<>();
+
+    private void add(String prefix, int patternIndex) {
+      Node node = this;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+      }
+      node.index = Math.min(node.index, patternIndex);
+    }
+  }
+
+}
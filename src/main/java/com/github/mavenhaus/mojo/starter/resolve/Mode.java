@@ -19,7 +19,8 @@ package com.github.mavenhaus.mojo.starter.resolve;
  * under the License.
  */
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.apache.maven.plugin.MojoExecutionException;
 
@@ -40,30 +41,29 @@ public enum Mode {
    */
   starter;
 
+  private static final List<Matcher> STARTER_MATCHERS = Collections.unmodifiableList(Arrays.asList(
+      new Matcher("revision", Action.resolve),
+      new Matcher("sha1", Action.resolve),
+      new Matcher("changelist", Action.resolve),
+      new Matcher("project.~*", Action.resolve),
+      new Matcher("parent.~*", Action.resolve)));
+
   /**
    * Returns the {@link Matcher matchers} defined by this {@link Mode}.
+   * The returned list is created once and cannot be modified.
    *
    * @return the {@link Matcher matchers}.
    * @throws MojoExecutionException if anything goes wrong.
    */
   public List<Matcher> getMatchers() throws MojoExecutionException {
-    List<Matcher> matchers = new LinkedList<>();
-
     switch (this) {
       case starter:
-        matchers.add(new Matcher("revision", Action.resolve));
-        matchers.add(new Matcher("sha1", Action.resolve));
-        matchers.add(new Matcher("changelist", Action.resolve));
-        matchers.add(new Matcher("project.~*", Action.resolve));
-        matchers.add(new Matcher("parent.~*", Action.resolve));
-        break;
+        return STARTER_MATCHERS;
       case clean:
-        break;
+        return Collections.emptyList();
       default:
         throw new MojoExecutionException("Unhandled case for the resolve mode");
     }
-
-    return matchers;
   }
 
 }
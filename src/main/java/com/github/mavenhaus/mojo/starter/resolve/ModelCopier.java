@@ -0,0 +1,163 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginContainer;
+import org.apache.maven.model.Profile;
+
+/**
+ * This class copies the model objects for copy-on-write. Instead of the deep copy of {@link Model#clone()}, a copy
+ * shares its fields with the original object, so only the branches which are edited have to be copied.
+ */
+public final class ModelCopier {
+
+  /**
+   * The instance fields of the model classes, looked up once per class.
+   */
+  private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link ModelCopier}.
+   */
+  private ModelCopier() {
+    super();
+  }
+
+  /**
+   * Returns a copy of the given model which can be edited by the resolve pipeline without changing the original model.
+   * The model, its profiles, its <code>build</code> and <code>dependencyManagement</code> sections and their lists and
+   * properties are copied, while the elements of the lists, e.g. the dependencies and the plugins, are shared with the
+   * original model. An element has to be copied before it is changed.
+   *
+   * @param original the original model, it is never changed.
+   * @return the copy of the model.
+   */
+  public static Model copyForEditing(Model original) {
+    Model model = copy(original, true);
+    if (model.getBuild() != null) {
+      model.setBuild(copy(model.getBuild(), true));
+    }
+    if (model.getDependencyManagement() != null) {
+      model.setDependencyManagement(copy(model.getDependencyManagement(), true));
+    }
+
+    List<Profile> profiles = model.getProfiles();
+    for (int i = 0; i < profiles.size(); i++) {
+      Profile profile = copy(profiles.get(i), true);
+      if (profile.getBuild() != null) {
+        profile.setBuild(copy(profile.getBuild(), true));
+      }
+      if (profile.getDependencyManagement() != null) {
+        profile.setDependencyManagement(copy(profile.getDependencyManagement(), true));
+      }
+      profiles.set(i, profile);
+    }
+    return model;
+  }
+
+  /**
+   * Returns a shallow copy of the given model object: the copy shares the values of all the fields of the original.
+   *
+   * @param <T> the type of the model object.
+   * @param original the model object.
+   * @return the copy.
+   */
+  public static <T> T copy(T original) {
+    return copy(original, false);
+  }
+
+  /**
+   * Returns a copy of the given model object sharing the values of its fields.
+   *
+   * @param <T> the type of the model object.
+   * @param original the model object.
+   * @param copyCollections whether the lists and properties are copied instead of being shared.
+   * @return the copy.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T copy(T original, boolean copyCollections) {
+    Class<?> type = original.getClass();
+    T copy;
+    try {
+      copy = (T) type.getConstructor().newInstance();
+      for (Field field : getFields(type)) {
+        Object value = field.get(original);
+        if (copyCollections && value instanceof List) {
+          value = new ArrayList<>((List<?>) value);
+        } else if (copyCollections && value instanceof Properties) {
+          Properties properties = new Properties();
+          properties.putAll((Properties) value);
+          value = properties;
+        }
+        field.set(copy, value);
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to copy " + type.getName(), e);
+    }
+
+    // the lookup maps are built from the lists on demand
+    if (copy instanceof PluginContainer) {
+      ((PluginContainer) copy).flushPluginMap();
+    }
+    if (copy instanceof Plugin) {
+      ((Plugin) copy).flushExecutionMap();
+    }
+    return copy;
+  }
+
+  private static boolean isModelClass(Class<?> type) {
+    return type != null && type.getPackage() != null
+        && Model.class.getPackage().getName().equals(type.getPackage().getName());
+  }
+
+  /**
+   * Returns the instance fields of the given model class and its super classes.
+   *
+   * @param type the model class.
+   * @return the fields.
+   */
+  private static Field[] getFields(Class<?> type) {
+    Field[] fields = FIELDS.get(type);
+    if (fields == null) {
+      List<Field> fieldList = new ArrayList<>();
+      for (Class<?> current = type; isModelClass(current); current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            field.setAccessible(true);
+            fieldList.add(field);
+          }
+        }
+      }
+      fields = fieldList.toArray(new Field[0]);
+      FIELDS.putIfAbsent(type, fields);
+    }
+    return fields;
+  }
+
+}
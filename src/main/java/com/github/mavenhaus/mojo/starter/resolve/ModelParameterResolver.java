@@ -0,0 +1,339 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputSource;
+import org.apache.maven.model.Model;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * This class resolves the parameter expressions of a {@link Model} copy-on-write.
+ * It walks the string values of the model objects (coordinates, dependencies, properties, profiles, ...) and of the
+ * plugin configuration DOMs including their attributes. The expressions are found the same way as the
+ * {@link ParameterResolvingWriter} finds them in the serialized text, including the nested ones, a string is only
+ * copied if an expression is replaced.
+ */
+public class ModelParameterResolver {
+
+  private static final String MODEL_PACKAGE = Model.class.getPackage().getName();
+
+  private static final String PARAM_START = "${";
+
+  private static final char PARAM_CLOSE = '}';
+
+  /**
+   * The instance fields of the model classes, looked up once per class.
+   */
+  private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+  private final ParameterResolvingWriter.Resolver resolver;
+
+  /**
+   * Creates a new instance of {@link ModelParameterResolver}.
+   *
+   * @param resolver the {@link ParameterResolvingWriter.Resolver} resolving the parameter expressions.
+   */
+  public ModelParameterResolver(ParameterResolvingWriter.Resolver resolver) {
+    this.resolver = resolver;
+  }
+
+  /**
+   * Resolves the parameter expressions of the given model copy-on-write: the given model is never changed, the model
+   * objects, lists, properties and configuration DOMs holding an expression to replace are copied along with the
+   * objects referencing them while the unchanged ones are shared with the given model.
+   *
+   * @param model the model, it is not changed.
+   * @return the resolved model, the given model if nothing has been replaced.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  public Model resolve(Model model) throws IOException {
+    return (Model) visitModelObject(model);
+  }
+
+  /**
+   * Resolves the parameter expressions of the given string.
+   *
+   * @param value the string, may be <code>null</code>.
+   * @return the string with the expressions resolved.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  public String resolve(String value) throws IOException {
+    return resolve(value, resolver);
+  }
+
+  /**
+   * Resolves the parameter expressions of the given string with the given {@link ParameterResolvingWriter.Resolver}.
+   * An expression ends at the <code>}</code> matching its <code>${</code>, so the expressions nested in it are part of
+   * the expression passed to the resolver.
+   *
+   * @param value the string, may be <code>null</code>.
+   * @param resolver the {@link ParameterResolvingWriter.Resolver} resolving the parameter expressions.
+   * @return the string with the expressions resolved, the same instance if nothing has been replaced.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  static String resolve(String value, ParameterResolvingWriter.Resolver resolver) throws IOException {
+    if (value == null) {
+      return null;
+    }
+
+    StringBuilder resolved = null;
+    int copied = 0;
+    int start = value.indexOf(PARAM_START);
+    while (start >= 0) {
+      int end = findExpressionEnd(value, start);
+      if (end == value.length()) {
+        // unterminated expression
+        break;
+      }
+      if (end < 0) {
+        // expression too long, kept unchanged
+        start = value.indexOf(PARAM_START, start + ParameterResolvingWriter.MAX_EXPRESSION_LENGTH);
+        continue;
+      }
+
+      String expression = value.substring(start, end + 1);
+      String replacement = resolver.resolve(expression);
+      if (!replacement.equals(expression)) {
+        if (resolved == null) {
+          resolved = new StringBuilder(value.length() + replacement.length());
+        }
+        resolved.append(value, copied, start).append(replacement);
+        copied = end + 1;
+      }
+      start = value.indexOf(PARAM_START, end + 1);
+    }
+
+    if (resolved == null) {
+      return value;
+    }
+    return resolved.append(value, copied, value.length()).toString();
+  }
+
+  /**
+   * Finds the <code>}</code> matching the <code>${</code> at the given index.
+   *
+   * @param value the string.
+   * @param start the index of the <code>${</code>.
+   * @return the index of the matching <code>}</code>, the length of the string if the expression is unterminated or
+   *     <code>-1</code> if it is longer than {@link ParameterResolvingWriter#MAX_EXPRESSION_LENGTH}.
+   */
+  private static int findExpressionEnd(String value, int start) {
+    int limit = Math.min(value.length(), start + ParameterResolvingWriter.MAX_EXPRESSION_LENGTH);
+    int depth = 0;
+    for (int i = start; i < limit; i++) {
+      char c = value.charAt(i);
+      if (c == PARAM_CLOSE) {
+        depth--;
+        if (depth == 0) {
+          return i;
+        }
+      } else if (value.startsWith(PARAM_START, i)) {
+        depth++;
+        i++;
+      }
+    }
+    return limit == value.length() ? value.length() : -1;
+  }
+
+  /**
+   * Resolves the given value copy-on-write.
+   *
+   * @param value the value, it is not changed.
+   * @return the resolved value, the same instance if nothing has been replaced.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  private Object visit(Object value) throws IOException {
+    if (value instanceof String) {
+      return resolve((String) value);
+    }
+    if (value instanceof List) {
+      return visitList((List<?>) value);
+    }
+    if (value instanceof Properties) {
+      return visitProperties((Properties) value);
+    }
+    if (value instanceof Xpp3Dom) {
+      return visitDom((Xpp3Dom) value);
+    }
+    if (value != null && isModelObject(value.getClass())) {
+      return visitModelObject(value);
+    }
+    return value;
+  }
+
+  private List<?> visitList(List<?> list) throws IOException {
+    List<Object> copy = null;
+    for (int i = 0; i < list.size(); i++) {
+      Object element = list.get(i);
+      Object resolved = visit(element);
+      if (resolved != element) {
+        if (copy == null) {
+          copy = new ArrayList<>(list);
+        }
+        copy.set(i, resolved);
+      }
+    }
+    return copy == null ? list : copy;
+  }
+
+  private Properties visitProperties(Properties properties) throws IOException {
+    Properties copy = null;
+    for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+      Object resolved = visit(entry.getValue());
+      if (resolved != entry.getValue()) {
+        if (copy == null) {
+          copy = new Properties();
+          copy.putAll(properties);
+        }
+        copy.put(entry.getKey(), resolved);
+      }
+    }
+    return copy == null ? properties : copy;
+  }
+
+  /**
+   * Resolves the given configuration DOM. As its children refer to their parent, a DOM holding an expression is
+   * copied as a whole and resolved in place.
+   *
+   * @param dom the DOM, it is not changed.
+   * @return the resolved DOM, the same instance if nothing has been replaced.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  private Xpp3Dom visitDom(Xpp3Dom dom) throws IOException {
+    if (!containsExpression(dom)) {
+      return dom;
+    }
+    Xpp3Dom copy = new Xpp3Dom(dom);
+    return resolveDom(copy) ? copy : dom;
+  }
+
+  private static boolean containsExpression(Xpp3Dom dom) {
+    String value = dom.getValue();
+    if (value != null && value.contains(PARAM_START)) {
+      return true;
+    }
+    for (String name : dom.getAttributeNames()) {
+      String attribute = dom.getAttribute(name);
+      if (attribute != null && attribute.contains(PARAM_START)) {
+        return true;
+      }
+    }
+    for (Xpp3Dom child : dom.getChildren()) {
+      if (containsExpression(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Resolves the given configuration DOM in place.
+   *
+   * @param dom the DOM to be changed.
+   * @return <code>true</code> if an expression has been replaced.
+   * @throws IOException if a parameter cannot be resolved.
+   */
+  private boolean resolveDom(Xpp3Dom dom) throws IOException {
+    boolean changed = false;
+    String value = dom.getValue();
+    String resolvedValue = resolve(value);
+    if (resolvedValue != value) {
+      dom.setValue(resolvedValue);
+      changed = true;
+    }
+
+    for (String name : dom.getAttributeNames()) {
+      String attribute = dom.getAttribute(name);
+      String resolvedAttribute = resolve(attribute);
+      if (resolvedAttribute != attribute) {
+        dom.setAttribute(name, resolvedAttribute);
+        changed = true;
+      }
+    }
+
+    for (Xpp3Dom child : dom.getChildren()) {
+      changed |= resolveDom(child);
+    }
+    return changed;
+  }
+
+  private Object visitModelObject(Object object) throws IOException {
+    Object copy = null;
+    for (Field field : getFields(object.getClass())) {
+      try {
+        Object value = field.get(object);
+        Object resolved = visit(value);
+        if (resolved != value) {
+          if (copy == null) {
+            copy = ModelCopier.copy(object);
+          }
+          field.set(copy, resolved);
+        }
+      } catch (IllegalAccessException e) {
+        throw new IOException("Failed to access " + field, e);
+      }
+    }
+    return copy == null ? object : copy;
+  }
+
+  private static boolean isModelObject(Class<?> type) {
+    return type.getPackage() != null && MODEL_PACKAGE.equals(type.getPackage().getName())
+        && type != InputLocation.class && type != InputSource.class;
+  }
+
+  /**
+   * Returns the instance fields of the given model class and its super classes which may hold a value to resolve.
+   * The fields holding primitives, source locations and the location maps are skipped.
+   *
+   * @param type the model class.
+   * @return the fields.
+   */
+  private static Field[] getFields(Class<?> type) {
+    Field[] fields = FIELDS.get(type);
+    if (fields == null) {
+      List<Field> fieldList = new ArrayList<>();
+      for (Class<?> current = type; current != null && isModelObject(current); current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+              || field.getType() == InputLocation.class
+              || (Map.class.isAssignableFrom(field.getType()) && !Properties.class.isAssignableFrom(field.getType()))) {
+            continue;
+          }
+          field.setAccessible(true);
+          fieldList.add(field);
+        }
+      }
+      fields = fieldList.toArray(new Field[0]);
+      FIELDS.putIfAbsent(type, fields);
+    }
+    return fields;
+  }
+
+}
@@ -0,0 +1,185 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+
+/**
+ * This class prunes the {@link Section sections} not needed by the consumers from a resolved model.
+ * The pruned sections are kept aside, so the bytes saved can be measured by serializing them alone instead of
+ * serializing the model twice.
+ */
+public class ModelPruner {
+
+  private final Set<Section> sections;
+
+  /**
+   * The pruned sections of the project. Its profiles are either the pruned profiles or hold the pruned sections of
+   * the profiles, each one in a profile having only the id of the original profile.
+   */
+  private final Model pruned;
+
+  /**
+   * Whether the profiles have been pruned as a whole.
+   */
+  private boolean profilesPruned;
+
+  /**
+   * Creates a new instance of {@link ModelPruner}.
+   *
+   * @param sections the {@link Section sections} to prune.
+   */
+  public ModelPruner(Set<Section> sections) {
+    this.sections = sections.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(sections);
+    this.pruned = new Model();
+    this.profilesPruned = false;
+  }
+
+  /**
+   * Prunes the {@link Section sections} from the given model in place.
+   *
+   * @param model the model to be changed.
+   */
+  public void prune(Model model) {
+    if (sections.isEmpty()) {
+      return;
+    }
+
+    if (sections.contains(Section.profiles) && !model.getProfiles().isEmpty()) {
+      pruned.setProfiles(model.getProfiles());
+      model.setProfiles(new ArrayList<>());
+      profilesPruned = true;
+    }
+    pruneBase(model, pruned);
+    for (Profile profile : model.getProfiles()) {
+      Profile prunedProfile = new Profile();
+      prunedProfile.setId(profile.getId());
+      if (pruneBase(profile, prunedProfile)) {
+        pruned.addProfile(prunedProfile);
+      }
+    }
+
+    if (sections.contains(Section.build)) {
+      pruned.setBuild(model.getBuild());
+      model.setBuild(null);
+    }
+    if (sections.contains(Section.developers)) {
+      pruned.setDevelopers(model.getDevelopers());
+      model.setDevelopers(new ArrayList<>());
+    }
+    if (sections.contains(Section.contributors)) {
+      pruned.setContributors(model.getContributors());
+      model.setContributors(new ArrayList<>());
+    }
+    if (sections.contains(Section.mailingLists)) {
+      pruned.setMailingLists(model.getMailingLists());
+      model.setMailingLists(new ArrayList<>());
+    }
+    if (sections.contains(Section.issueManagement)) {
+      pruned.setIssueManagement(model.getIssueManagement());
+      model.setIssueManagement(null);
+    }
+    if (sections.contains(Section.ciManagement)) {
+      pruned.setCiManagement(model.getCiManagement());
+      model.setCiManagement(null);
+    }
+  }
+
+  /**
+   * Prunes the {@link Section sections} shared by the project and the profiles.
+   *
+   * @param base the project or the profile to be changed.
+   * @param prunedBase the project or profile collecting the pruned sections.
+   * @return <code>true</code> if anything has been pruned.
+   */
+  private boolean pruneBase(ModelBase base, ModelBase prunedBase) {
+    boolean changed = false;
+    if (sections.contains(Section.reporting) && base.getReporting() != null) {
+      prunedBase.setReporting(base.getReporting());
+      base.setReporting(null);
+      changed = true;
+    }
+    if (sections.contains(Section.pluginRepositories) && !base.getPluginRepositories().isEmpty()) {
+      prunedBase.setPluginRepositories(base.getPluginRepositories());
+      base.setPluginRepositories(new ArrayList<>());
+      changed = true;
+    }
+    if (sections.contains(Section.build) && base instanceof Profile && ((Profile) base).getBuild() != null) {
+      ((Profile) prunedBase).setBuild(((Profile) base).getBuild());
+      ((Profile) base).setBuild(null);
+      changed = true;
+    }
+    return changed;
+  }
+
+  /**
+   * Returns the number of bytes saved by the pruning, measured on the model before its parameters are resolved.
+   * The pruned sections are serialized alone and the serialization of the elements enclosing them is subtracted.
+   *
+   * @param charset the {@link Charset} of the resolved POM.
+   * @return the number of bytes saved.
+   * @throws IOException if the sections cannot be serialized.
+   */
+  public long getSavedBytes(Charset charset) throws IOException {
+    Model skeleton = new Model();
+    if (!profilesPruned) {
+      for (Profile prunedProfile : pruned.getProfiles()) {
+        Profile skeletonProfile = new Profile();
+        skeletonProfile.setId(prunedProfile.getId());
+        skeleton.addProfile(skeletonProfile);
+      }
+    }
+    return countBytes(pruned, charset) - countBytes(skeleton, charset);
+  }
+
+  private static long countBytes(Model model, Charset charset) throws IOException {
+    long[] count = new long[1];
+    OutputStream counter = new OutputStream() {
+
+      @Override
+      public void write(int b) {
+        count[0]++;
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        count[0] += len;
+      }
+
+    };
+    try (Writer writer = new OutputStreamWriter(counter, charset)) {
+      new MavenXpp3Writer().write(writer, model);
+    }
+    return count[0];
+  }
+
+}
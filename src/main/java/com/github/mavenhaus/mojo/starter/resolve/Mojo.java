@@ -21,38 +21,19 @@ package com.github.mavenhaus.mojo.starter.resolve;
 
 import com.github.mavenhaus.mojo.starter.AbstractMojo;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import java.util.Set;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.model.Activation;
-import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Model;
-import org.apache.maven.model.Profile;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.settings.Settings;
-import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
-import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
-import org.codehaus.plexus.util.StringUtils;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.ext.DefaultHandler2;
 
 /**
  * This MOJO realizes the goal <code>starter:resolve</code> that generates the resolved POM and
@@ -70,12 +51,6 @@ import org.xml.sax.ext.DefaultHandler2;
 // CHECKSTYLE_ON: LineLength
 public class Mojo extends AbstractMojo {
 
-  private static final String PARAM_START = "${";
-
-  private static final String PARAM_END = "}";
-
-  private static final int INITIAL_POM_WRITER_SIZE = 4096;
-
   // ----------------------------------------------------------------------
   // Plugin parameters
   // ----------------------------------------------------------------------
@@ -110,6 +85,31 @@ public class Mojo extends AbstractMojo {
   @Parameter(property = "starter.resolve.mode", defaultValue = "starter")
   private Mode resolveMode;
 
+  /**
+   * The strategy how the parameter expressions are found.
+   * <table border="1" summary="">
+   * <thead>
+   * <tr>
+   * <td>Strategy</td>
+   * <td>Description</td>
+   * </tr>
+   * </thead>
+   * <tbody>
+   * <tr>
+   * <td>model</td>
+   * <td>Resolves the parameters in the string values of the model, including the plugin configurations,
+   * then serializes the model once. Only the values containing <code>${</code> are scanned.</td>
+   * </tr>
+   * <tr>
+   * <td>text</td>
+   * <td>Serializes the model and resolves the parameters found in the whole serialized text.</td>
+   * </tr>
+   * </tbody>
+   * </table>
+   */
+  @Parameter(property = "starter.resolve.strategy", defaultValue = "model")
+  private Strategy resolveStrategy;
+
   /**
    * The flag to indicate whether the generated POM shall be used as POM file for the current project.
    * By default it is <code>true</code>. In order to only generate the resolved POM set this property
@@ -126,6 +126,111 @@ public class Mojo extends AbstractMojo {
   @Parameter(property = "starter.resolve.removeStarterPlugin", required = false)
   private Boolean removeStarterPlugin;
 
+  /**
+   * The {@link Section sections} pruned from the resolved POM because the consumers do not need them, e.g.
+   * <code>build,reporting,developers</code>. The bytes saved are logged for each project. By default nothing is
+   * pruned.
+   */
+  @Parameter(property = "starter.resolve.prune", required = false)
+  private List<Section> prune;
+
+  /**
+   * The flag to indicate whether concrete coordinates shall be written into the dependencies of the resolved POM.
+   * The versions, scopes and exclusions coming from the <code>dependencyManagement</code>, the imported BOMs and the
+   * parent chain as well as the property references are taken from the effective model of the project. The imported
+   * BOMs are removed from the <code>dependencyManagement</code> unless the project is a POM.
+   */
+  @Parameter(property = "starter.resolve.flattenDependencies", defaultValue = "false")
+  private boolean flattenDependencies;
+
+  /**
+   * The flag to indicate whether the parent chain shall be inlined into the resolved POM.
+   * The inherited properties, <code>dependencyManagement</code>, dependencies, licenses and SCM are merged from the
+   * effective model of the project and the <code>&lt;parent&gt;</code> element is removed, so the resolved POM is
+   * standalone. The parent expressions are resolved whatever the {@link #getEffectiveMatchers() matchers} are.
+   */
+  @Parameter(property = "starter.resolve.inlineParent", defaultValue = "false")
+  private boolean inlineParent;
+
+  /**
+   * The flag to indicate whether the properties no expression of the resolved POM references anymore shall be
+   * removed. The properties of a POM project are always kept as its children may reference them.
+   */
+  @Parameter(property = "starter.resolve.removeUnusedProperties", defaultValue = "false")
+  private boolean removeUnusedProperties;
+
+  /**
+   * The patterns of the properties kept by {@link #removeUnusedProperties} even if they are unreferenced, e.g.
+   * <code>maven.compiler.~*</code>. The patterns have the syntax of the {@link Matcher matchers}.
+   */
+  @Parameter(property = "starter.resolve.keepProperties", required = false)
+  private List<String> keepProperties;
+
+  /**
+   * The flag to indicate whether the generation of the resolved POM shall be skipped if it is up to date.
+   * The resolved POM is up to date if its {@link Fingerprint fingerprint} stored next to it matches the
+   * original <code>pom.xml</code>, its parent chain, the plugin configuration, the effective
+   * {@link Matcher matchers} and the current values of every expression that has been resolved.
+   * In this case only the POM file of the current project is updated.
+   */
+  @Parameter(property = "starter.resolve.incremental", defaultValue = "true")
+  private boolean incremental;
+
+  /**
+   * The maximum depth of the nested and chained parameter expressions.
+   * The expressions nested in an expression, e.g. <code>${b}</code> in <code>${a.${b}}</code>, are resolved first and
+   * the expressions contained in a resolved value are resolved in turn. Each level adds one to the depth, an
+   * expression exceeding the maximum depth or depending on itself is kept unchanged.
+   */
+  @Parameter(property = "starter.resolve.maxExpressionDepth", defaultValue = "16")
+  private int maxExpressionDepth;
+
+  /**
+   * The flag to indicate whether the phases of the generation of the resolved POM shall be timed.
+   * The timings are logged in one line, written next to the resolved POM as <code>.resolved-pom.xml.timings.json</code>
+   * and appended to the {@link #traceFile trace file} of the session.
+   */
+  @Parameter(property = "starter.resolve.trace", defaultValue = "false")
+  private boolean trace;
+
+  /**
+   * The trace file collecting the timings of all the projects of the session in the Chrome trace-event format.
+   * It can be loaded in <code>chrome://tracing</code> or in Perfetto.
+   */
+  @Parameter(property = "starter.resolve.traceFile", defaultValue = "${session.executionRootDirectory}/target/starter-trace.json")
+  private File traceFile;
+
+  /**
+   * The flag to indicate whether the resolved POMs shall be shared between builds through a content-addressed
+   * {@link ResolvedPomStore store}. If the store holds a resolved POM generated from the same original
+   * <code>pom.xml</code>, parent chain, configuration and {@link Matcher matchers} with the same expression values,
+   * it is restored instead of being generated. Otherwise the generated POM is added to the store.
+   */
+  @Parameter(property = "starter.resolve.store", defaultValue = "false")
+  private boolean store;
+
+  /**
+   * The directory of the {@link #store}. It may be shared by all the builds of the host.
+   */
+  @Parameter(property = "starter.resolve.storeDirectory", defaultValue = "${settings.localRepository}/.cache/starter-maven-plugin")
+  private File storeDirectory;
+
+  /**
+   * The maximum size in bytes of the resolved POMs kept in the {@link #store}.
+   * The least recently used ones are evicted once it is exceeded.
+   */
+  @Parameter(property = "starter.resolve.storeMaxSize", defaultValue = "268435456")
+  private long storeMaxSize;
+
+  /**
+   * The flag to indicate whether a resolved POM restored from the {@link #store} shall be a hard link instead of a copy.
+   * It falls back to a copy if the file system does not support hard links. A hard link shares its content with the
+   * object of the store, so a tool writing the resolved POM in place changes the object as well: such an object is
+   * detected and dropped by the next restore, but a copy is the safe default.
+   */
+  @Parameter(property = "starter.resolve.storeLink", defaultValue = "false")
+  private boolean storeLink;
+
   /**
    * The {@link Matcher matchers} that define the list of parameters that has to be resolved.
    * The {@link Matcher#getPattern() pattern} is a special regex. As the <code>.</code> is heavily
@@ -200,7 +305,7 @@ public class Mojo extends AbstractMojo {
   @Parameter(property = "starter.resolve.matchers.action9", required = false)
   private String action9;
 
-  private List<Matcher> cmdlineMatchers = new LinkedList<>();
+  private volatile List<Matcher> cmdlineMatchers = new LinkedList<>();
 
   // ----------------------------------------------------------------------
   // Fields and injected values
@@ -224,11 +329,6 @@ public class Mojo extends AbstractMojo {
   @Parameter(defaultValue = "${mojo}", readonly = true, required = true)
   private MojoExecution mojo;
 
-  /**
-   * The {@link PluginParameterExpressionEvaluator} required to resolve parameter values.
-   */
-  private PluginParameterExpressionEvaluator evaluator;
-
   // ----------------------------------------------------------------------
   // Methods
   // ----------------------------------------------------------------------
@@ -245,378 +345,329 @@ public class Mojo extends AbstractMojo {
    */
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
-    getLog().info("Generating resolved POM of project " + project.getId() + "...");
-
     buildCmdlimeMatchers();
 
-    Model resolvedModel = generateResolvedModel(project.getOriginalModel());
+    ProjectResolver resolver = new ProjectResolver(this, project, getEffectiveMatchers());
+    resolver.resolve();
 
-    StringBuffer resolvedContent = generateResolvedContent(resolvedModel);
-    insertHeaderComment(resolvedContent, extractHeaderComment(project.getFile()));
-    resolveParameters(resolvedContent, getEffectiveMatchers());
+    if (isUseResolvedPomFile()) {
+      project.setPomFile(resolver.getResolvedPomFile());
+    }
 
-    File resolvedPomFile = getResolvedPomFile();
-    writeContentToFile(resolvedContent.toString(), resolvedPomFile, resolvedModel.getModelEncoding());
+    logValueCacheStatistics();
+  }
 
-    if (isUseResolvedPomFile()) {
-      project.setPomFile(resolvedPomFile);
+  /**
+   * Logs the hits and misses of the {@link ValueCache} and the renderings of the {@link ValueRenderers} in debug mode.
+   */
+  protected void logValueCacheStatistics() {
+    if (getLog().isDebugEnabled()) {
+      ValueCache valueCache = ValueCache.of(session);
+      getLog().debug("Parameter value cache: " + valueCache.getHits() + " hits, " + valueCache.getMisses() + " misses");
+      getLog().debug("Rendered projects and settings: " + ValueRenderers.of(session).getRenderings());
+      getLog().debug("Warm caches: " + ProjectResolver.getWarmCacheStatistics());
+      ReactorIndex reactorIndex = ReactorIndex.of(session);
+      getLog().debug("Reactor index: " + reactorIndex.size() + " projects, " + reactorIndex.getLookups() + " lookups");
     }
   }
 
-  private void buildCmdlimeMatchers() {
+  /**
+   * Builds the {@link Matcher matchers} specified on the command line.
+   * The list is built anew and then published, so executing the MOJO again does not add the matchers twice.
+   */
+  protected void buildCmdlimeMatchers() {
+    List<Matcher> builtMatchers = new LinkedList<>();
     if (pattern0 != null && action0 != null) {
-      cmdlineMatchers.add(new Matcher(pattern0, action0));
+      builtMatchers.add(new Matcher(pattern0, action0));
     } else if (pattern0 != null || action0 != null) {
       getLog().warn("starter.resolve.matchers.pattern0 or starter.resolve.matchers.action0 wasn't specified. Matcher not created.");
     }
     if (pattern1 != null && action1 != null) {
-      cmdlineMatchers.add(new Matcher(pattern1, action1));
+      builtMatchers.add(new Matcher(pattern1, action1));
     } else if (pattern1 != null || action1 != null) {
       getLog().warn("starter.resolve.matchers.pattern1 or starter.resolve.matchers.action1 wasn't specified. Matcher not created.");
     }
     if (pattern2 != null && action2 != null) {
-      cmdlineMatchers.add(new Matcher(pattern2, action2));
+      builtMatchers.add(new Matcher(pattern2, action2));
     } else if (pattern2 != null || action2 != null) {
       getLog().warn("starter.resolve.matchers.pattern2 or starter.resolve.matchers.action2 wasn't specified. Matcher not created.");
     }
     if (pattern3 != null && action3 != null) {
-      cmdlineMatchers.add(new Matcher(pattern3, action3));
+      builtMatchers.add(new Matcher(pattern3, action3));
     } else if (pattern3 != null || action3 != null) {
       getLog().warn("starter.resolve.matchers.pattern3 or starter.resolve.matchers.action3 wasn't specified. Matcher not created.");
     }
     if (pattern4 != null && action4 != null) {
-      cmdlineMatchers.add(new Matcher(pattern4, action4));
+      builtMatchers.add(new Matcher(pattern4, action4));
     } else if (pattern4 != null || action4 != null) {
       getLog().warn("starter.resolve.matchers.pattern4 or starter.resolve.matchers.action4 wasn't specified. Matcher not created.");
     }
     if (pattern5 != null && action5 != null) {
-      cmdlineMatchers.add(new Matcher(pattern5, action5));
+      builtMatchers.add(new Matcher(pattern5, action5));
     } else if (pattern5 != null || action5 != null) {
       getLog().warn("starter.resolve.matchers.pattern5 or starter.resolve.matchers.action5 wasn't specified. Matcher not created.");
     }
     if (pattern6 != null && action6 != null) {
-      cmdlineMatchers.add(new Matcher(pattern6, action6));
+      builtMatchers.add(new Matcher(pattern6, action6));
     } else if (pattern6 != null || action6 != null) {
       getLog().warn("starter.resolve.matchers.pattern6 or starter.resolve.matchers.action6 wasn't specified. Matcher not created.");
     }
     if (pattern7 != null && action7 != null) {
-      cmdlineMatchers.add(new Matcher(pattern7, action7));
+      builtMatchers.add(new Matcher(pattern7, action7));
     } else if (pattern7 != null || action7 != null) {
       getLog().warn("starter.resolve.matchers.pattern7 or starter.resolve.matchers.action7 wasn't specified. Matcher not created.");
     }
     if (pattern8 != null && action8 != null) {
-      cmdlineMatchers.add(new Matcher(pattern8, action8));
+      builtMatchers.add(new Matcher(pattern8, action8));
     } else if (pattern8 != null || action8 != null) {
       getLog().warn("starter.resolve.matchers.pattern8 or starter.resolve.matchers.action8 wasn't specified. Matcher not created.");
     }
     if (pattern9 != null && action9 != null) {
-      cmdlineMatchers.add(new Matcher(pattern9, action9));
+      builtMatchers.add(new Matcher(pattern9, action9));
     } else if (pattern9 != null || action9 != null) {
       getLog().warn("starter.resolve.matchers.pattern9 or starter.resolve.matchers.action9 wasn't specified. Matcher not created.");
     }
+    cmdlineMatchers = builtMatchers;
   }
 
   /**
-   * Generates the resolved model.
+   * Returns the effective matcher list.
+   *
+   * The returned value combines the matchers from the {@link #matchers} and the {@link #resolveMode}.
+   * The {@link #matchers} take precedence over the {@link Matcher matchers} returned by the {@link #resolveMode}.
    *
-   * @param originalModel the original model to be changed.
-   * @return the resolved model.
+   * @return the effective matcher list.
    * @throws MojoExecutionException if anything goes wrong.
    */
-  private Model generateResolvedModel(Model originalModel) throws MojoExecutionException {
-    Model resolvedModel = originalModel.clone();
+  protected List<Matcher> getEffectiveMatchers() throws MojoExecutionException {
+    List<Matcher> effectiveMatchers = new ArrayList<>();
 
-    if (resolvedModel.getModelEncoding() == null) {
-      resolvedModel.setModelEncoding("UTF-8");
+    if (!cmdlineMatchers.isEmpty()) {
+      effectiveMatchers.addAll(cmdlineMatchers);
+    } else if (matchers != null) {
+      effectiveMatchers.addAll(matchers);
     }
+    effectiveMatchers.addAll(resolveMode.getMatchers());
 
-    if (isRemoveStarterPlugin()) {
-      if (resolvedModel.getBuild() != null) {
-        if (resolvedModel.getBuild().getPlugins() != null) {
-          resolvedModel.getBuild().getPlugins().removeIf(plugin -> plugin.getArtifactId().equals("starter-maven-plugin"));
-        }
-      }
+    return effectiveMatchers;
+  }
 
-      if (resolvedModel.getProfiles() != null) {
-        for (Profile profile : resolvedModel.getProfiles()) {
+  /**
+   * Returns the {@link MavenProject} the goal is executed for.
+   *
+   * @return the {@link MavenProject}.
+   */
+  protected MavenProject getProject() {
+    return project;
+  }
 
-          if (profile.getBuild() != null) {
-            if (profile.getBuild().getPlugins() != null) {
-              profile.getBuild().getPlugins().removeIf(plugin -> plugin.getArtifactId().equals("starter-maven-plugin"));
-            }
-          }
-        }
-      }
-    }
-    return resolvedModel;
+  /**
+   * Returns the current {@link MavenSession}.
+   *
+   * @return the {@link MavenSession}.
+   */
+  protected MavenSession getSession() {
+    return session;
   }
 
   /**
-   * Generates the resolved content.
+   * Returns the {@link MojoExecution} of this goal.
    *
-   * @param resolvedModel the resolved model which needs more string processing.
-   * @return the resolved content.
-   * @throws MojoExecutionException if anything goes wrong.
+   * @return the {@link MojoExecution}.
    */
-  private StringBuffer generateResolvedContent(Model resolvedModel) throws MojoExecutionException {
-    MavenXpp3Writer pomWriter = new MavenXpp3Writer();
-    StringWriter stringWriter = new StringWriter(INITIAL_POM_WRITER_SIZE);
+  protected MojoExecution getMojoExecution() {
+    return mojo;
+  }
 
-    try {
-      pomWriter.write(stringWriter, resolvedModel);
-    } catch (IOException e) {
-      throw new MojoExecutionException("Failed to generate string from the pom model", e);
-    }
-    return stringWriter.getBuffer();
+  /**
+   * Returns the {@link Mode resolve mode}.
+   *
+   * @return the {@link Mode resolve mode}.
+   */
+  public Mode getResolveMode() {
+    return resolveMode;
   }
 
   /**
-   * This method extracts the XML header comment if available.
+   * Returns the {@link Strategy resolve strategy}.
    *
-   * @param pomFile is the XML {@link File} to parse.
-   * @return the XML comment between the XML header declaration and the root tag or <code>null</code> if NOT available.
-   * @throws MojoExecutionException if anything goes wrong.
+   * @return the {@link Strategy resolve strategy}.
    */
-  protected String extractHeaderComment(File pomFile) throws MojoExecutionException {
-    try {
-      SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
-      SaxHeaderCommentHandler handler = new SaxHeaderCommentHandler();
-      parser.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
-      parser.parse(pomFile, handler);
-      return handler.getHeaderComment();
-    } catch (Exception e) {
-      throw new MojoExecutionException("Failed to parse XML from " + pomFile, e);
-    }
+  public Strategy getResolveStrategy() {
+    return resolveStrategy;
   }
 
   /**
-   * Inserts the original header comment into the generated content.
+   * Returns the {@link Section sections} pruned from the resolved POM.
    *
-   * @param resolvedContent the resolved content in which the header comment has to be injected.
-   * @param headerComment the header comment which needs to be injected.
-   */
-  private void insertHeaderComment(StringBuffer resolvedContent, String headerComment) {
-    if (!StringUtils.isEmpty(headerComment)) {
-      int projectStartIndex = resolvedContent.indexOf("<project");
-      if (projectStartIndex >= 0) {
-        resolvedContent.insert(projectStartIndex, "<!--" + headerComment + "-->\n");
-      } else {
-        getLog().warn("POM XML post-processing failed: no project tag found!");
-      }
+   * @return the {@link Section sections} pruned from the resolved POM, empty if nothing is pruned.
+   */
+  public Set<Section> getPrune() {
+    Set<Section> sections = EnumSet.noneOf(Section.class);
+    if (prune != null) {
+      sections.addAll(prune);
     }
+    return sections;
   }
 
   /**
-   * Returns the effective matcher list.
+   * Returns whether concrete coordinates have to be written into the dependencies of the resolved POM.
    *
-   * The returned value combines the matchers from the {@link #matchers} and the {@link #resolveMode}.
-   * The {@link #matchers} take precedence over the {@link Matcher matchers} returned by the {@link #resolveMode}.
+   * @return <code>true</code> if the dependencies have to be flattened.
+   */
+  public boolean isFlattenDependencies() {
+    return flattenDependencies;
+  }
+
+  /**
+   * Returns whether the parent chain has to be inlined into the resolved POM.
    *
-   * @return the effective matcher list.
-   * @throws MojoExecutionException if anything goes wrong.
+   * @return <code>true</code> if the parent chain has to be inlined.
    */
-  private List<Matcher> getEffectiveMatchers() throws MojoExecutionException {
-    List<Matcher> effectiveMatchers = new LinkedList<>();
+  public boolean isInlineParent() {
+    return inlineParent;
+  }
 
-    if (!cmdlineMatchers.isEmpty()) {
-      effectiveMatchers.addAll(cmdlineMatchers);
-    } else if (matchers != null) {
-      effectiveMatchers.addAll(matchers);
+  /**
+   * Returns whether the unreferenced properties have to be removed from the resolved POM.
+   *
+   * @return <code>true</code> if the unreferenced properties have to be removed.
+   */
+  public boolean isRemoveUnusedProperties() {
+    return removeUnusedProperties;
+  }
+
+  /**
+   * Returns the {@link Matcher matchers} of the properties to be kept even if they are unreferenced.
+   *
+   * @return the {@link Matcher matchers} of the properties to be kept.
+   */
+  public List<Matcher> getKeepProperties() {
+    List<Matcher> keepMatchers = new ArrayList<>();
+    if (keepProperties != null) {
+      for (String pattern : keepProperties) {
+        keepMatchers.add(new Matcher(pattern, Action.keep));
+      }
     }
-    effectiveMatchers.addAll(resolveMode.getMatchers());
+    return keepMatchers;
+  }
 
-    return effectiveMatchers;
+  /**
+   * Returns whether the generation of an up to date resolved POM has to be skipped.
+   *
+   * @return <code>true</code> if the generation of an up to date resolved POM has to be skipped.
+   */
+  public boolean isIncremental() {
+    return incremental;
   }
 
   /**
-   * Resolves the parameter names corresponding to the {@link #matchers}.
+   * Returns the maximum depth of the nested and chained parameter expressions.
    *
-   * @param resolvedContent the resolved content in which the parameters have to be resolved.
-   * @param matchers the list of {@link Matcher matchers} to compare with.
-   * @throws MojoExecutionException if anything goes wrong.
-   * @throws MojoFailureException if anything goes wrong.
-   */
-  private void resolveParameters(StringBuffer resolvedContent, List<Matcher> matchers) throws MojoExecutionException, MojoFailureException {
-    int startIdx;
-    int endIdx = -1;
-    while ((startIdx = resolvedContent.indexOf(PARAM_START, endIdx + 1)) > -1) {
-      endIdx = resolvedContent.indexOf(PARAM_END, startIdx + 1);
-      if (endIdx < 0) {
-        break;
-      }
+   * @return the maximum depth of the nested and chained parameter expressions.
+   */
+  public int getMaxExpressionDepth() {
+    return maxExpressionDepth;
+  }
 
-      final String wholeExpr = resolvedContent.substring(startIdx, endIdx + PARAM_END.length());
-      String realExpr = wholeExpr.substring(PARAM_START.length(), wholeExpr.length() - PARAM_END.length());
-      for (Matcher matcher : matchers) {
-        if (matcher.getCompiledPattern().matcher(realExpr).matches()) {
-          switch (matcher.getAction()) {
-            case resolve:
-              String paramValue = getParamValue(wholeExpr);
-              resolvedContent.replace(startIdx, endIdx + PARAM_END.length(), paramValue);
-              endIdx = startIdx + paramValue.length() - 1;
-              break;
-            case keep:
-              endIdx = startIdx + wholeExpr.length() - 1;
-              break;
-            default:
-              throw new MojoExecutionException("Unresolved default value for 'matcher.getAction()'");
-          }
-          break;
-        }
-      }
-    }
+  /**
+   * Returns whether the phases of the generation of the resolved POM have to be timed.
+   *
+   * @return <code>true</code> if the phases have to be timed.
+   */
+  public boolean isTrace() {
+    return trace;
   }
 
   /**
-   * Gets the value of the parameter.
+   * Returns the trace file of the session.
    *
-   * @param paramName the parameter name asked.
-   * @return the value of the parameter.
-   * @throws MojoExecutionException if anything goes wrong.
-   * @throws MojoFailureException if anything goes wrong.
-   */
-  private String getParamValue(String paramName) throws MojoExecutionException, MojoFailureException {
-    Object obj;
-    try {
-      obj = getEvaluator().evaluate(paramName);
-    } catch (ExpressionEvaluationException e) {
-      throw new MojoExecutionException("Error when evaluating the Maven expression", e);
-    }
+   * @return the trace file of the session.
+   */
+  public File getTraceFile() {
+    return traceFile;
+  }
 
-    // handle null
-    if (obj == null) {
-      getLog().warn("The evaluator returned null for the parameter name '" + paramName + "'. Parameter not resolved.");
-      return paramName;
-    }
-    // handle same value returned
-    else if (paramName.equals(obj.toString())) {
-      getLog().warn("The evaluator returned the same value as the parameter name for the parameter name '" + paramName + "'. Parameter not resolved.");
-      return paramName;
-    }
-    // handle primitives objects
-    else if (obj instanceof String) {
-      return obj.toString();
-    }
-    else if (obj instanceof Boolean) {
-      return obj.toString();
-    }
-    else if (obj instanceof Byte) {
-      return obj.toString();
-    }
-    else if (obj instanceof Character) {
-      return obj.toString();
-    }
-    else if (obj instanceof Double) {
-      return obj.toString();
-    }
-    else if (obj instanceof Float) {
-      return obj.toString();
-    }
-    else if (obj instanceof Integer) {
-      return obj.toString();
-    }
-    else if (obj instanceof Long) {
-      return obj.toString();
-    }
-    else if (obj instanceof Short) {
-      return obj.toString();
-    }
-    // handle specific objects
-    else if (obj instanceof File) {
-      File file = (File) obj;
-      return file.getAbsolutePath();
-    }
-    // handle Maven POM object
-    else if (obj instanceof MavenProject) {
-      MavenProject projectAsked = (MavenProject) obj;
-      StringWriter stringWriter = new StringWriter();
-      MavenXpp3Writer pomWriter = new MavenXpp3Writer();
-      try {
-        pomWriter.write(stringWriter, projectAsked.getModel());
-      } catch (IOException e) {
-        throw new MojoExecutionException("Error when writing pom to string", e);
-      }
-      return stringWriter.toString();
-    }
-    // handle Maven Settings object
-    else if (obj instanceof Settings) {
-      Settings settingsAsked = (Settings) obj;
-      StringWriter stringWriter = new StringWriter();
-      SettingsXpp3Writer settingsWriter = new SettingsXpp3Writer();
-      try {
-        settingsWriter.write( stringWriter, settingsAsked );
-      } catch (IOException e) {
-        throw new MojoExecutionException( "Error when writing settings to string", e);
-      }
-      return stringWriter.toString();
-    }
-    // other Maven objects
-    else {
-      getLog().warn("The evaluator returned an unsupported type for the parameter name '" + paramName + "'. Parameter not resolved.");
-      return paramName;
-    }
+  /**
+   * Returns whether the resolved POMs have to be shared through the {@link ResolvedPomStore store}.
+   *
+   * @return <code>true</code> if the store is used.
+   */
+  public boolean isStore() {
+    return store;
   }
 
   /**
-   * Returns a lazy loading evaluator object.
+   * Returns the directory of the {@link ResolvedPomStore store}.
    *
-   * @return the evaluator object.
-   */
-  private PluginParameterExpressionEvaluator getEvaluator() {
-    if (evaluator == null) {
-      MavenProject currentProject = session.getCurrentProject();
-      // Maven 3: PluginParameterExpressionEvaluator gets the current project from the session:
-      // synchronize in case another thread wants to fetch the real current project in between
-      synchronized (session) {
-        session.setCurrentProject(project);
-        evaluator = new PluginParameterExpressionEvaluator(session, mojo);
-        session.setCurrentProject(currentProject);
-      }
-    }
-    return evaluator;
+   * @return the directory of the store.
+   */
+  public File getStoreDirectory() {
+    return storeDirectory;
   }
 
   /**
-   * Writes the given <code>data</code> to the given <code>file</code> using the specified <code>encoding</code>.
+   * Returns the maximum size in bytes of the resolved POMs kept in the {@link ResolvedPomStore store}.
    *
-   * @param data is the {@link String} to write.
-   * @param file is the {@link File} to write to.
-   * @param encoding is the encoding to use for writing the file.
-   * @throws MojoExecutionException if anything goes wrong.
+   * @return the maximum size in bytes.
    */
-  protected void writeContentToFile(String data, File file, String encoding) throws MojoExecutionException {
-    File parentDir = file.getParentFile();
-    if (!parentDir.exists()) {
-      boolean success = parentDir.mkdirs();
-      if (!success) {
-        throw new MojoExecutionException("Failed to create directory " + file.getParent());
-      }
-    }
+  public long getStoreMaxSize() {
+    return storeMaxSize;
+  }
 
-    byte[] binaryData;
-    try {
-      binaryData = data.getBytes(encoding);
-    } catch (UnsupportedEncodingException e) {
-      throw new MojoExecutionException("Failed to get bytes with the given encoding from data to be written to file", e);
-    }
+  /**
+   * Returns whether a resolved POM restored from the {@link ResolvedPomStore store} has to be a hard link.
+   *
+   * @return <code>true</code> if a hard link is preferred to a copy.
+   */
+  public boolean isStoreLink() {
+    return storeLink;
+  }
 
-    if (file.isFile() && file.canRead() && file.length() == binaryData.length) {
-      try (InputStream inputStream = new FileInputStream(file);) {
-        byte[] buffer = new byte[binaryData.length];
-        int readCount = inputStream.read(buffer);
-        if (readCount == binaryData.length && Arrays.equals(buffer, binaryData)) {
-          return;
-        }
-      } catch (IOException ignore) {
-        /* ignore */
-      }
-    }
+  /**
+   * Returns a {@link File} instance pointing to the resolved POM of the given project.
+   *
+   * @param target the project.
+   * @return a {@link File} instance pointing to the resolved POM of the given project.
+   */
+  protected File getResolvedPomFile(MavenProject target) {
+    return new File(getOutputDirectory(target), getResolvedPomFilename());
+  }
+
+  /**
+   * Returns a {@link File} instance pointing to the fingerprint of the resolved POM of the given project.
+   *
+   * @param target the project.
+   * @return a {@link File} instance pointing to the fingerprint of the resolved POM of the given project.
+   */
+  protected File getFingerprintFile(MavenProject target) {
+    return new File(getOutputDirectory(target), getResolvedPomFilename() + ".fingerprint");
+  }
+
+  /**
+   * Returns a {@link File} instance pointing to the timings of the generation of the resolved POM of the given project.
+   *
+   * @param target the project.
+   * @return a {@link File} instance pointing to the timings of the generation of the resolved POM of the given project.
+   */
+  protected File getTimingsFile(MavenProject target) {
+    return new File(getOutputDirectory(target), getResolvedPomFilename() + ".timings.json");
+  }
 
-    try (OutputStream outStream = new FileOutputStream(file);) {
-      outStream.write(binaryData);
-    } catch (IOException e) {
-      throw new MojoExecutionException("Failed to write to " + file, e);
+  /**
+   * Returns the directory where the generated POM file of the given project is written to.
+   * The {@link #getOutputDirectory() output directory} is relative to the base directory of the current project,
+   * for other projects of the reactor it is taken relative to their base directory.
+   *
+   * @param target the project.
+   * @return the output directory of the given project.
+   */
+  private File getOutputDirectory(MavenProject target) {
+    if (target == project) {
+      return getOutputDirectory();
     }
+    Path relativePath = project.getBasedir().toPath().relativize(getOutputDirectory().toPath());
+    return target.getBasedir().toPath().resolve(relativePath).toFile();
   }
 
   /**
@@ -659,58 +710,4 @@ public class Mojo extends AbstractMojo {
     return useResolvedPomFile;
   }
 
-  /**
-   * This class is a simple SAX handler that extracts the first comment located before the root tag in an XML document.
-   */
-  private class SaxHeaderCommentHandler extends DefaultHandler2 {
-
-    /**
-     * <code>true</code> if root tag has already been visited, <code>false</code> otherwise.
-     */
-    private boolean rootTagSeen;
-
-    /**
-     * @see #getHeaderComment()
-     */
-    private String headerComment;
-
-    /**
-     * The constructor.
-     */
-    public SaxHeaderCommentHandler() {
-      super();
-
-      rootTagSeen = false;
-    }
-
-    /**
-     * @return the XML comment from the header of the document or <code>null</code> if not present.
-     */
-    public String getHeaderComment() {
-      return headerComment;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void comment(char[] ch, int start, int length) throws SAXException {
-      if (!rootTagSeen) {
-        if (headerComment == null) {
-          headerComment = new String(ch, start, length);
-        } else {
-          getLog().warn("Ignoring multiple XML header comment!");
-        }
-      }
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
-      rootTagSeen = true;
-    }
-  }
-
 }
@@ -0,0 +1,187 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This {@link Writer} replaces the parameter expressions (<code>${...}</code>) of the written text on the fly.
+ * The text is scanned exactly once and forwarded to the underlying {@link Writer} as it goes, only the
+ * expression being scanned is buffered. An expression ends at the <code>}</code> matching its <code>${</code>, so the
+ * expressions nested in it are passed to the {@link Resolver} as part of it. Expressions longer than
+ * {@link #MAX_EXPRESSION_LENGTH} characters are written unchanged.
+ */
+public class ParameterResolvingWriter extends FilterWriter {
+
+  /**
+   * The maximum length of an expression including <code>${</code> and <code>}</code>.
+   */
+  public static final int MAX_EXPRESSION_LENGTH = 1024;
+
+  private static final char PARAM_MARKER = '$';
+
+  private static final char PARAM_OPEN = '{';
+
+  private static final char PARAM_CLOSE = '}';
+
+  /**
+   * This is the callback that provides the replacement of an expression.
+   */
+  @FunctionalInterface
+  public interface Resolver {
+
+    /**
+     * Returns the replacement of the given expression.
+     *
+     * @param expression the whole expression including <code>${</code> and <code>}</code>.
+     * @return the replacement, the expression itself if it has to be kept.
+     * @throws IOException if anything goes wrong.
+     */
+    String resolve(String expression) throws IOException;
+  }
+
+  /**
+   * The callback providing the replacements.
+   */
+  private final Resolver resolver;
+
+  /**
+   * The buffer of the expression being scanned.
+   */
+  private final StringBuilder expression;
+
+  /**
+   * The number of unclosed <code>${</code> of the expression being scanned.
+   */
+  private int depth;
+
+  /**
+   * Creates a new instance of {@link ParameterResolvingWriter}.
+   *
+   * @param out the underlying {@link Writer}.
+   * @param resolver the callback providing the replacements.
+   */
+  public ParameterResolvingWriter(Writer out, Resolver resolver) {
+    super(out);
+    this.resolver = resolver;
+    this.expression = new StringBuilder(MAX_EXPRESSION_LENGTH);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(int c) throws IOException {
+    if (expression.length() == 0) {
+      if (c == PARAM_MARKER) {
+        expression.append((char) c);
+      } else {
+        out.write(c);
+      }
+    } else if (expression.length() == 1) {
+      if (c == PARAM_OPEN) {
+        expression.append((char) c);
+        depth = 1;
+      } else {
+        flushExpression();
+        write(c);
+      }
+    } else {
+      if (c == PARAM_OPEN && expression.charAt(expression.length() - 1) == PARAM_MARKER) {
+        depth++;
+      } else if (c == PARAM_CLOSE) {
+        depth--;
+      }
+      expression.append((char) c);
+      if (depth == 0) {
+        String wholeExpr = expression.toString();
+        expression.setLength(0);
+        out.write(resolver.resolve(wholeExpr));
+      } else if (expression.length() >= MAX_EXPRESSION_LENGTH) {
+        flushExpression();
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    int end = off + len;
+    int start = off;
+    for (int i = off; i < end; i++) {
+      if (expression.length() == 0 && cbuf[i] != PARAM_MARKER) {
+        continue;
+      }
+      if (i > start) {
+        out.write(cbuf, start, i - start);
+      }
+      write(cbuf[i]);
+      start = i + 1;
+    }
+    if (end > start) {
+      out.write(cbuf, start, end - start);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    int end = off + len;
+    int start = off;
+    for (int i = off; i < end; i++) {
+      if (expression.length() == 0 && str.charAt(i) != PARAM_MARKER) {
+        continue;
+      }
+      if (i > start) {
+        out.write(str, start, i - start);
+      }
+      write(str.charAt(i));
+      start = i + 1;
+    }
+    if (end > start) {
+      out.write(str, start, end - start);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * An unterminated expression is written unchanged.
+   */
+  @Override
+  public void close() throws IOException {
+    flushExpression();
+    super.close();
+  }
+
+  private void flushExpression() throws IOException {
+    if (expression.length() > 0) {
+      out.append(expression);
+      expression.setLength(0);
+    }
+  }
+
+}
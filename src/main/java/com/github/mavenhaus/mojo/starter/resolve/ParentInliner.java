@@ -0,0 +1,300 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.License;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Scm;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * This class merges the elements a resolved model inherits from its parent chain into the model and drops its
+ * <code>&lt;parent&gt;</code> reference, so a consumer can read the resulting POM without fetching any parent POM.
+ * The inherited properties, <code>dependencyManagement</code> and dependencies are taken from the original models of
+ * the parent chain only, the nearest parent winning, so what active profiles or the settings add never ends up in the
+ * resolved POM and the resolved POM does not depend on the profiles active on the build machine. Their expressions are
+ * handled like the ones of the model itself, as Maven interpolates the inherited elements in the context of the child:
+ * they are resolved if they match, otherwise they refer to the inlined properties. The imported BOMs are kept as
+ * imports. The licenses and the SCM, which no profile can change, are taken from the effective model of the project.
+ * The elements declared by the model itself or by one of its profiles take precedence over the inherited ones.
+ */
+public class ParentInliner {
+
+  private static final String PARAM_START = "${";
+
+  private final Model effectiveModel;
+
+  /**
+   * The original models of the parent chain, from the nearest to the farthest parent.
+   */
+  private final List<Model> parentModels;
+
+  private final Properties inheritedProperties;
+
+  private final ParameterResolvingWriter.Resolver resolver;
+
+  /**
+   * Creates a new instance of {@link ParentInliner}.
+   *
+   * @param project the project whose parent chain is inlined.
+   * @param resolver the {@link ParameterResolvingWriter.Resolver} returning the value of an expression of the model,
+   * used to compare the declared dependencies with the inherited ones.
+   */
+  public ParentInliner(MavenProject project, ParameterResolvingWriter.Resolver resolver) {
+    this.effectiveModel = project.getModel();
+    this.parentModels = new ArrayList<>();
+    for (MavenProject parent = project.getParent(); parent != null; parent = parent.getParent()) {
+      parentModels.add(parent.getOriginalModel());
+    }
+    this.inheritedProperties = new Properties();
+    for (int i = parentModels.size() - 1; i >= 0; i--) {
+      inheritedProperties.putAll(parentModels.get(i).getProperties());
+    }
+    this.resolver = resolver;
+  }
+
+  /**
+   * Merges the inherited elements into the given model in place and removes its parent.
+   *
+   * @param model the resolved model to be changed.
+   * @throws IOException if an expression of a declared dependency cannot be resolved.
+   */
+  public void inline(Model model) throws IOException {
+    if (model.getParent() == null) {
+      return;
+    }
+
+    if (model.getGroupId() == null) {
+      model.setGroupId(effectiveModel.getGroupId());
+    }
+    if (model.getVersion() == null) {
+      model.setVersion(effectiveModel.getVersion());
+    }
+
+    inlineProperties(model);
+    inlineDependencyManagement(model);
+    inlineDependencies(model);
+    if (model.getLicenses().isEmpty()) {
+      for (License license : effectiveModel.getLicenses()) {
+        model.addLicense(license.clone());
+      }
+    }
+    if (model.getScm() == null && effectiveModel.getScm() != null) {
+      model.setScm(effectiveModel.getScm().clone());
+    }
+
+    model.setParent(null);
+  }
+
+  /**
+   * Updates the given digest with the inherited elements, so a change of a parent changes the digest of the inputs of
+   * the resolved POM.
+   *
+   * @param digest the digest to update.
+   */
+  public void updateDigest(MessageDigest digest) {
+    for (Map.Entry<Object, Object> property : new TreeMap<>(inheritedProperties).entrySet()) {
+      update(digest, property.getKey() + "=" + property.getValue());
+    }
+    for (Model parentModel : parentModels) {
+      update(digest, parentModel.getId());
+      if (parentModel.getDependencyManagement() != null) {
+        for (Dependency dependency : parentModel.getDependencyManagement().getDependencies()) {
+          updateDigest(digest, dependency);
+        }
+      }
+      for (Dependency dependency : parentModel.getDependencies()) {
+        updateDigest(digest, dependency);
+      }
+    }
+    for (License license : effectiveModel.getLicenses()) {
+      update(digest, license.getName() + ':' + license.getUrl() + ':' + license.getDistribution());
+    }
+    Scm scm = effectiveModel.getScm();
+    if (scm != null) {
+      update(digest, scm.getConnection() + ':' + scm.getDeveloperConnection() + ':' + scm.getUrl() + ':' + scm.getTag());
+    }
+  }
+
+  private static void updateDigest(MessageDigest digest, Dependency dependency) {
+    update(digest, dependency.getManagementKey() + ':' + dependency.getVersion() + ':' + dependency.getScope() + ':'
+        + dependency.getOptional() + ':' + dependency.getSystemPath());
+    for (Exclusion exclusion : dependency.getExclusions()) {
+      update(digest, exclusion.getGroupId() + ':' + exclusion.getArtifactId());
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Adds the properties of the parent chain neither declared by the model nor by one of its profiles.
+   *
+   * @param model the resolved model to be changed.
+   */
+  private void inlineProperties(Model model) {
+    Properties properties = model.getProperties();
+    Set<Object> declaredKeys = new HashSet<>(properties.keySet());
+    for (Profile profile : model.getProfiles()) {
+      declaredKeys.addAll(profile.getProperties().keySet());
+    }
+    for (Map.Entry<Object, Object> entry : inheritedProperties.entrySet()) {
+      if (!declaredKeys.contains(entry.getKey())) {
+        properties.put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Adds the managed dependencies of the parent chain neither managed by the model nor by one of its profiles.
+   *
+   * @param model the resolved model to be changed.
+   * @throws IOException if an expression of a managed dependency cannot be resolved.
+   */
+  private void inlineDependencyManagement(Model model) throws IOException {
+    Set<String> declaredKeys = new HashSet<>();
+    DependencyManagement dependencyManagement = model.getDependencyManagement();
+    if (dependencyManagement != null) {
+      addResolvedManagementKeys(dependencyManagement.getDependencies(), declaredKeys);
+    }
+    for (Profile profile : model.getProfiles()) {
+      if (profile.getDependencyManagement() != null) {
+        addResolvedManagementKeys(profile.getDependencyManagement().getDependencies(), declaredKeys);
+      }
+    }
+
+    List<Dependency> inherited = new ArrayList<>();
+    for (Model parentModel : parentModels) {
+      if (parentModel.getDependencyManagement() != null) {
+        inherit(parentModel.getDependencyManagement().getDependencies(), declaredKeys, inherited);
+      }
+    }
+    if (inherited.isEmpty()) {
+      return;
+    }
+    if (dependencyManagement == null) {
+      dependencyManagement = new DependencyManagement();
+      model.setDependencyManagement(dependencyManagement);
+    }
+    for (Dependency dependency : inherited) {
+      dependencyManagement.addDependency(dependency);
+    }
+  }
+
+  /**
+   * Adds the dependencies of the parent chain neither declared by the model nor by one of its profiles.
+   *
+   * @param model the resolved model to be changed.
+   * @throws IOException if an expression of a dependency cannot be resolved.
+   */
+  private void inlineDependencies(Model model) throws IOException {
+    Set<String> declaredKeys = new HashSet<>();
+    addResolvedManagementKeys(model.getDependencies(), declaredKeys);
+    for (Profile profile : model.getProfiles()) {
+      addResolvedManagementKeys(profile.getDependencies(), declaredKeys);
+    }
+
+    List<Dependency> inherited = new ArrayList<>();
+    for (Model parentModel : parentModels) {
+      inherit(parentModel.getDependencies(), declaredKeys, inherited);
+    }
+    for (Dependency dependency : inherited) {
+      model.addDependency(dependency);
+    }
+  }
+
+  /**
+   * Adds the resolved management keys of the given dependencies to the given set.
+   *
+   * @param dependencies the dependencies.
+   * @param keys the set of keys to extend.
+   * @throws IOException if an expression of a dependency cannot be resolved.
+   */
+  private void addResolvedManagementKeys(List<Dependency> dependencies, Set<String> keys) throws IOException {
+    for (Dependency dependency : dependencies) {
+      keys.add(getResolvedManagementKey(dependency));
+    }
+  }
+
+  /**
+   * Adds a copy of each of the given dependencies of a parent to the inherited ones unless its resolved management
+   * key is declared already, i.e. by the model or by a nearer parent.
+   *
+   * @param dependencies the dependencies of the parent.
+   * @param declaredKeys the keys of the dependencies declared already, extended by the inherited ones.
+   * @param inherited the inherited dependencies to extend.
+   * @throws IOException if an expression of a dependency cannot be resolved.
+   */
+  private void inherit(List<Dependency> dependencies, Set<String> declaredKeys, List<Dependency> inherited)
+      throws IOException {
+    for (Dependency dependency : dependencies) {
+      if (declaredKeys.add(getResolvedManagementKey(dependency))) {
+        inherited.add(dependency.clone());
+      }
+    }
+  }
+
+  /**
+   * Returns the management key of the given dependency, i.e. group id, artifact id, type and classifier, with the
+   * expressions of its coordinates resolved.
+   *
+   * @param dependency the dependency.
+   * @return the management key.
+   * @throws IOException if an expression cannot be resolved.
+   */
+  private String getResolvedManagementKey(Dependency dependency) throws IOException {
+    Dependency resolved = new Dependency();
+    resolved.setGroupId(resolve(dependency.getGroupId()));
+    resolved.setArtifactId(resolve(dependency.getArtifactId()));
+    resolved.setType(resolve(dependency.getType()));
+    resolved.setClassifier(resolve(dependency.getClassifier()));
+    return resolved.getManagementKey();
+  }
+
+  private String resolve(String text) throws IOException {
+    if (text == null || !text.contains(PARAM_START)) {
+      return text;
+    }
+    StringWriter out = new StringWriter();
+    try (Writer writer = new ParameterResolvingWriter(out, resolver)) {
+      writer.write(text);
+    }
+    return out.toString();
+  }
+
+}
@@ -0,0 +1,123 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * This enumeration lists the phases of the generation of a resolved POM timed by the {@link PhaseTimer}.
+ */
+public enum Phase {
+
+  /**
+   * Anything not covered by another phase.
+   */
+  other("other"),
+
+  /**
+   * The computation and the check of the {@link Fingerprint fingerprint}.
+   */
+  fingerprint("fingerprint"),
+
+  /**
+   * The lookup and the update of the {@link ResolvedPomStore store}.
+   */
+  store("store"),
+
+  /**
+   * The cloning of the original model.
+   */
+  modelClone("model clone"),
+
+  /**
+   * The removal of the <code>starter-maven-plugin</code>.
+   */
+  pluginRemoval("plugin removal"),
+
+  /**
+   * The pruning of the {@link Section sections} not needed by the consumers.
+   */
+  pruning("pruning"),
+
+  /**
+   * The flattening of the dependencies.
+   */
+  flattening("flattening"),
+
+  /**
+   * The inlining of the parent chain.
+   */
+  inlining("inlining"),
+
+  /**
+   * The removal of the unreferenced properties.
+   */
+  propertyRemoval("property removal"),
+
+  /**
+   * The extraction of the XML header comment from the original <code>pom.xml</code>. When generating, the extraction
+   * runs concurrently with the model stages and only the time spent waiting for it is accounted.
+   */
+  headerExtraction("header extraction"),
+
+  /**
+   * The serialization of the resolved model.
+   */
+  serialization("serialization"),
+
+  /**
+   * The insertion of the XML header comment.
+   */
+  headerInsertion("header insertion"),
+
+  /**
+   * The search and the replacement of the parameter expressions.
+   */
+  parameterResolution("parameter resolution"),
+
+  /**
+   * The calls of the expression evaluator.
+   */
+  evaluation("evaluation"),
+
+  /**
+   * The writing of the resolved POM file.
+   */
+  fileWrite("file write");
+
+  private final String label;
+
+  /**
+   * Creates a new instance of {@link Phase}.
+   *
+   * @param label the human readable name of the phase.
+   */
+  Phase(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Returns the human readable name of the phase.
+   *
+   * @return the human readable name of the phase.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+}
@@ -0,0 +1,189 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * This class measures the time spent in each {@link Phase} of the generation of a resolved POM with the monotonic
+ * {@link System#nanoTime() clock}. The phases are nested: entering a phase pauses the enclosing one, so each
+ * {@link Phase} accounts its own time only and the times of all phases add up to the {@link #getTotalNanos() total}.
+ * An instance is bound to a single thread. The {@link #disabled() disabled} instance measures nothing.
+ */
+public final class PhaseTimer {
+
+  private static final PhaseTimer DISABLED = new PhaseTimer(false);
+
+  private final boolean enabled;
+
+  private final long[] nanos;
+
+  private final Deque<Phase> enclosingPhases;
+
+  private Phase currentPhase;
+
+  private long lastNanos;
+
+  private long startNanos;
+
+  private long endNanos;
+
+  private int evaluations;
+
+  /**
+   * Creates a new enabled instance of {@link PhaseTimer}.
+   */
+  public PhaseTimer() {
+    this(true);
+  }
+
+  private PhaseTimer(boolean enabled) {
+    this.enabled = enabled;
+    this.nanos = new long[Phase.values().length];
+    this.enclosingPhases = new ArrayDeque<>();
+    this.currentPhase = Phase.other;
+  }
+
+  /**
+   * Returns the shared {@link PhaseTimer} measuring nothing.
+   *
+   * @return the disabled {@link PhaseTimer}.
+   */
+  public static PhaseTimer disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Returns whether the timer measures anything.
+   *
+   * @return <code>true</code> if the timer is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts the measurement in the phase {@link Phase#other}.
+   */
+  public void start() {
+    if (enabled) {
+      startNanos = System.nanoTime();
+      lastNanos = startNanos;
+    }
+  }
+
+  /**
+   * Stops the measurement.
+   */
+  public void stop() {
+    if (enabled) {
+      endNanos = System.nanoTime();
+      nanos[currentPhase.ordinal()] += endNanos - lastNanos;
+      lastNanos = endNanos;
+    }
+  }
+
+  /**
+   * Enters the given phase, the current phase is paused until the matching {@link #exit()}.
+   *
+   * @param phase the {@link Phase} entered.
+   */
+  public void enter(Phase phase) {
+    if (enabled) {
+      long now = System.nanoTime();
+      nanos[currentPhase.ordinal()] += now - lastNanos;
+      lastNanos = now;
+      enclosingPhases.push(currentPhase);
+      currentPhase = phase;
+    }
+  }
+
+  /**
+   * Exits the current phase and resumes the enclosing one.
+   */
+  public void exit() {
+    if (enabled) {
+      long now = System.nanoTime();
+      nanos[currentPhase.ordinal()] += now - lastNanos;
+      lastNanos = now;
+      currentPhase = enclosingPhases.pop();
+    }
+  }
+
+  /**
+   * Counts a call of the expression evaluator.
+   */
+  public void countEvaluation() {
+    if (enabled) {
+      evaluations++;
+    }
+  }
+
+  /**
+   * Wraps the given {@link Writer} so that the time spent in it is accounted to the given phase.
+   *
+   * @param out the {@link Writer} to wrap.
+   * @param phase the {@link Phase} of the time spent in the {@link Writer}.
+   * @return the wrapping {@link Writer}, or <code>out</code> itself if the timer is disabled.
+   */
+  public Writer wrap(Writer out, Phase phase) {
+    return enabled ? new TimedWriter(out, this, phase) : out;
+  }
+
+  /**
+   * Returns the time spent in the given phase.
+   *
+   * @param phase the {@link Phase}.
+   * @return the time spent in nanoseconds.
+   */
+  public long getNanos(Phase phase) {
+    return nanos[phase.ordinal()];
+  }
+
+  /**
+   * Returns the time between {@link #start()} and {@link #stop()}.
+   *
+   * @return the total time in nanoseconds.
+   */
+  public long getTotalNanos() {
+    return endNanos - startNanos;
+  }
+
+  /**
+   * Returns the value of the monotonic clock at {@link #start()}.
+   *
+   * @return the start time in nanoseconds.
+   */
+  public long getStartNanos() {
+    return startNanos;
+  }
+
+  /**
+   * Returns the number of calls of the expression evaluator.
+   *
+   * @return the number of calls of the expression evaluator.
+   */
+  public int getEvaluations() {
+    return evaluations;
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+
+/**
+ * This is the expression evaluator bound to a {@link MavenProject} and a {@link MojoExecution}.
+ * The {@link PluginParameterExpressionEvaluator} of Maven 3 takes the project from the current project of the session.
+ * Instead of switching the current project of the shared session, which needs a lock and is briefly visible to the
+ * other threads of a parallel build, the evaluator works on a shallow {@link MavenSession#clone() clone} of the session
+ * whose current project is the bound project. The shared session is never changed, creating an evaluator is cheap and
+ * it can be reused for any number of expressions of the bound project.
+ */
+public class ProjectEvaluator {
+
+  private final MavenProject project;
+
+  private final PluginParameterExpressionEvaluator evaluator;
+
+  /**
+   * Creates a new instance of {@link ProjectEvaluator}.
+   *
+   * @param session the current {@link MavenSession}, it is not changed.
+   * @param project the {@link MavenProject} the expressions are evaluated for.
+   * @param mojoExecution the {@link MojoExecution} the expressions are evaluated for.
+   */
+  public ProjectEvaluator(MavenSession session, MavenProject project, MojoExecution mojoExecution) {
+    MavenSession projectSession = session.clone();
+    projectSession.setCurrentProject(project);
+    this.project = project;
+    this.evaluator = new PluginParameterExpressionEvaluator(projectSession, mojoExecution);
+  }
+
+  /**
+   * Returns the {@link MavenProject} the expressions are evaluated for.
+   *
+   * @return the {@link MavenProject}.
+   */
+  public MavenProject getProject() {
+    return project;
+  }
+
+  /**
+   * Evaluates the given expression.
+   *
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @return the value of the expression, may be <code>null</code>.
+   * @throws ExpressionEvaluationException if the expression cannot be evaluated.
+   */
+  public Object evaluate(String expression) throws ExpressionEvaluationException {
+    return evaluator.evaluate(expression);
+  }
+
+}
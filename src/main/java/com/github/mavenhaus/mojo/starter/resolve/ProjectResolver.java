@@ -0,0 +1,1398 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * This class generates the resolved POM of a single {@link MavenProject} as configured by the
+ * {@link Mojo resolve mojo}. It is used by the <code>starter:resolve</code> goal for the current project and
+ * by the <code>starter:aggregate</code> goal for every project of the reactor.
+ */
+public class ProjectResolver {
+
+  private static final String PARAM_START = "${";
+
+  private static final String PARAM_END = "}";
+
+  private static final String POM_PACKAGING = "pom";
+
+  /**
+   * The maximum length of the values and lines reported by a failed {@link #check()}.
+   */
+  private static final int MAX_REPORTED_VALUE_LENGTH = 120;
+
+  /**
+   * The maximum number of files of each JVM-lifetime cache.
+   */
+  private static final int MAX_CACHED_FILES = 4096;
+
+  /**
+   * The hex encoded digests of the original POMs and their parents, kept across the builds of a daemon. A digest is
+   * trusted as long as the size and the modification time of its POM are, see {@link FileStateCache} for the edits it
+   * misses.
+   */
+  private static final FileStateCache<String> POM_DIGESTS = new FileStateCache<>("POM digests", MAX_CACHED_FILES);
+
+  /**
+   * The comments of the prologs of the original POMs, kept across the builds of a daemon.
+   */
+  private static final FileStateCache<List<String>> PROLOG_COMMENTS = new FileStateCache<>("POM prologs",
+      MAX_CACHED_FILES);
+
+  /**
+   * The fingerprints of the resolved POMs, kept across the builds of a daemon.
+   */
+  private static final FileStateCache<Fingerprint> FINGERPRINTS = new FileStateCache<>("Fingerprints",
+      MAX_CACHED_FILES);
+
+  /**
+   * The number of files read while the model is processed: the original and the existing resolved POMs.
+   */
+  private static final int IO_TASKS = 2;
+
+  /**
+   * The key of the session scoped executor of the file reads, see {@link #getIoExecutor(MavenSession)}.
+   */
+  private static final String IO_EXECUTOR_KEY = ProjectResolver.class.getName() + ".ioExecutor";
+
+  /**
+   * The time after which an idle thread of the executor of the file reads terminates, so the executor holds no thread
+   * once the session is over.
+   */
+  private static final long IO_KEEP_ALIVE_SECONDS = 1;
+
+  /**
+   * The factory of the threads of the executor of the file reads.
+   */
+  private static final ThreadFactory IO_THREAD_FACTORY = new ThreadFactory() {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "starter-io-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  private final Log log;
+
+  private final MavenSession session;
+
+  private final MojoExecution mojo;
+
+  /**
+   * The {@link MavenProject} whose POM is resolved.
+   */
+  private final MavenProject project;
+
+  /**
+   * The effective list of {@link Matcher matchers}.
+   */
+  private final List<Matcher> matchers;
+
+  /**
+   * The compiled form of the {@link #matchers}.
+   */
+  private final MatcherSet matcherSet;
+
+  private final Mode resolveMode;
+
+  private final Strategy resolveStrategy;
+
+  private final boolean removeStarterPlugin;
+
+  /**
+   * The {@link Section sections} pruned from the resolved POM.
+   */
+  private final Set<Section> prune;
+
+  private final boolean flattenDependencies;
+
+  private final boolean inlineParent;
+
+  private final boolean removeUnusedProperties;
+
+  private final List<Matcher> keepProperties;
+
+  private final boolean incremental;
+
+  /**
+   * The maximum depth of the nested and chained expressions resolved by the {@link ExpressionGraph}.
+   */
+  private final int maxExpressionDepth;
+
+  private final File resolvedPomFile;
+
+  private final File fingerprintFile;
+
+  private final boolean trace;
+
+  private final File timingsFile;
+
+  private final File traceFile;
+
+  /**
+   * The {@link ResolvedPomStore} shared between builds or <code>null</code> if it is not used.
+   */
+  private final ResolvedPomStore store;
+
+  private final long storeMaxSize;
+
+  private final boolean storeLink;
+
+  /**
+   * The session scoped {@link ValueCache} of the rendered parameter values.
+   */
+  private final ValueCache valueCache;
+
+  /**
+   * The session scoped {@link ValueRenderers} rendering the evaluated objects.
+   */
+  private final ValueRenderers renderers;
+
+  /**
+   * The session scoped {@link ReactorIndex} checking the sibling modules.
+   */
+  private final ReactorIndex reactorIndex;
+
+  /**
+   * The {@link ProjectEvaluator} bound to the {@link #project} required to resolve parameter values.
+   */
+  private ProjectEvaluator evaluator;
+
+  /**
+   * The {@link PhaseTimer} of the current resolution, {@link PhaseTimer#disabled() disabled} unless traced.
+   */
+  private PhaseTimer timer;
+
+  /**
+   * Creates a new instance of {@link ProjectResolver}.
+   *
+   * @param configuration the {@link Mojo} providing the configuration.
+   * @param project the {@link MavenProject} whose POM has to be resolved.
+   * @param matchers the effective list of {@link Matcher matchers}.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  public ProjectResolver(Mojo configuration, MavenProject project, List<Matcher> matchers) throws MojoExecutionException {
+    this.log = configuration.getLog();
+    this.session = configuration.getSession();
+    this.mojo = configuration.getMojoExecution();
+    this.project = project;
+    this.inlineParent = configuration.isInlineParent();
+    this.removeUnusedProperties = configuration.isRemoveUnusedProperties();
+    this.keepProperties = configuration.getKeepProperties();
+    this.matchers = inlineParent ? withParentMatchers(matchers) : matchers;
+    this.matcherSet = MatcherSet.of(session, this.matchers);
+    this.resolveMode = configuration.getResolveMode();
+    this.resolveStrategy = configuration.getResolveStrategy();
+    this.removeStarterPlugin = configuration.isRemoveStarterPlugin();
+    this.prune = configuration.getPrune();
+    this.flattenDependencies = configuration.isFlattenDependencies();
+    this.incremental = configuration.isIncremental();
+    this.maxExpressionDepth = configuration.getMaxExpressionDepth();
+    this.resolvedPomFile = configuration.getResolvedPomFile(project);
+    this.fingerprintFile = configuration.getFingerprintFile(project);
+    this.trace = configuration.isTrace();
+    this.timingsFile = configuration.getTimingsFile(project);
+    this.traceFile = configuration.getTraceFile();
+    this.store = configuration.isStore() ? ResolvedPomStore.of(configuration.getStoreDirectory()) : null;
+    this.storeMaxSize = configuration.getStoreMaxSize();
+    this.storeLink = configuration.isStoreLink();
+    this.valueCache = ValueCache.of(session);
+    this.renderers = ValueRenderers.of(session);
+    this.reactorIndex = ReactorIndex.of(session);
+    this.timer = PhaseTimer.disabled();
+  }
+
+  /**
+   * Returns the {@link File} of the resolved POM.
+   *
+   * @return the {@link File} of the resolved POM.
+   */
+  public File getResolvedPomFile() {
+    return resolvedPomFile;
+  }
+
+  /**
+   * Generates the resolved POM unless it is up to date.
+   *
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  public void resolve() throws MojoExecutionException, MojoFailureException {
+    log.info("Generating resolved POM of project " + project.getId() + "...");
+
+    Object event = ResolveEvents.beginProject();
+    timer = trace ? new PhaseTimer() : PhaseTimer.disabled();
+    timer.start();
+    boolean upToDate = resolveUnlessUpToDate();
+    timer.stop();
+    ResolveEvents.commitProject(event, project.getId(), upToDate, project.getFile(), resolvedPomFile);
+
+    if (trace) {
+      writeTimings(new TimingReport(project.getId(), upToDate, timer));
+    }
+  }
+
+  /**
+   * Generates the resolved POM unless it is up to date.
+   *
+   * @return <code>true</code> if the resolved POM was up to date.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private boolean resolveUnlessUpToDate() throws MojoExecutionException, MojoFailureException {
+    checkSiblings();
+
+    timer.enter(Phase.fingerprint);
+    String inputDigest;
+    boolean upToDate;
+    try {
+      inputDigest = computeDigest(false);
+      upToDate = incremental && isUpToDate(inputDigest);
+    } finally {
+      timer.exit();
+    }
+
+    if (upToDate) {
+      log.info("Resolved POM " + resolvedPomFile.getPath() + " is up to date");
+      return true;
+    }
+
+    String storeKey = null;
+    if (store != null) {
+      timer.enter(Phase.store);
+      try {
+        storeKey = computeDigest(true);
+        Fingerprint entry = restoreFromStore(storeKey);
+        if (entry != null) {
+          log.info("Restored resolved POM " + resolvedPomFile.getPath() + " from the store " + store.getDirectory());
+          writeFingerprint(new Fingerprint(inputDigest, entry.getLength(), entry.getDigest(),
+              resolvedPomFile.lastModified(), entry.getValues()), fingerprintFile);
+          return false;
+        }
+      } finally {
+        timer.exit();
+      }
+    }
+
+    // the original and the existing resolved POMs are read while the model is processed
+    ExecutorService ioExecutor = getIoExecutor(session);
+    Future<String> headerCommentFuture = ioExecutor.submit(() -> extractHeaderComment(project.getFile()));
+    Future<byte[]> existingDigest = ioExecutor.submit(() -> digestExistingFile(resolvedPomFile));
+
+    Map<String, String> resolvedValues = new HashMap<>();
+    Model resolvedModel = generateResolvedModel(project.getOriginalModel(), removeStarterPlugin, timer);
+    ModelPruner pruner = pruneModel(resolvedModel);
+    flattenDependencies(resolvedModel, resolvedValues);
+    inlineParent(resolvedModel);
+
+    // only the time spent waiting for the extraction is accounted
+    timer.enter(Phase.headerExtraction);
+    String headerComment;
+    try {
+      headerComment = await(headerCommentFuture, project.getFile());
+    } finally {
+      timer.exit();
+    }
+    removeUnusedProperties(resolvedModel, headerComment);
+
+    Fingerprint fingerprint = writeResolvedContent(resolvedModel, headerComment, resolvedValues, existingDigest,
+        inputDigest);
+    logSavedBytes(pruner, resolvedModel.getModelEncoding());
+
+    timer.enter(Phase.fingerprint);
+    try {
+      writeFingerprint(fingerprint, fingerprintFile);
+    } finally {
+      timer.exit();
+    }
+
+    if (store != null) {
+      timer.enter(Phase.store);
+      try {
+        addToStore(storeKey, fingerprint);
+      } finally {
+        timer.exit();
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Warns about the sibling modules listed in the <code>dependencyManagement</code> of the original model that are
+   * not projects of the reactor, see {@link ReactorIndex#checkSiblings(Model, MavenProject)}. The resolve and the
+   * check goals warn alike, whether the resolved POM is up to date or not.
+   */
+  private void checkSiblings() {
+    for (String problem : reactorIndex.checkSiblings(project.getOriginalModel(), project)) {
+      log.warn("Managed sibling module " + problem);
+    }
+  }
+
+  /**
+   * Checks that the resolved POM is current without writing anything.
+   *
+   * If the {@link Fingerprint fingerprint} matches the current inputs only the values of its expressions are compared.
+   * Otherwise the resolved content is regenerated and compared with the resolved POM file on the fly.
+   *
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if the resolved POM is missing or not current.
+   */
+  public void check() throws MojoExecutionException, MojoFailureException {
+    log.info("Checking resolved POM of project " + project.getId() + "...");
+    checkSiblings();
+
+    if (!resolvedPomFile.isFile()) {
+      throw new MojoFailureException("Resolved POM " + resolvedPomFile.getPath() + " is missing");
+    }
+
+    Fingerprint fingerprint = readFingerprint();
+    if (fingerprint != null && fingerprint.getDigest().equals(computeDigest(false)) && isResolvedPomIntact(fingerprint)) {
+      Map<String, String> currentValues = new HashMap<>();
+      for (String expression : fingerprint.getValues().keySet()) {
+        currentValues.put(expression, getParamValue(expression));
+      }
+      List<String> changes = diffValues(fingerprint.getValues(), currentValues);
+      if (!changes.isEmpty()) {
+        throw new MojoFailureException(toCheckFailure(changes, null));
+      }
+      log.info("Resolved POM " + resolvedPomFile.getPath() + " is current");
+      return;
+    }
+
+    Map<String, String> resolvedValues = new HashMap<>();
+    Model resolvedModel = generateResolvedModel(project.getOriginalModel(), removeStarterPlugin, timer);
+    pruneModel(resolvedModel);
+    flattenDependencies(resolvedModel, resolvedValues);
+    inlineParent(resolvedModel);
+    String headerComment = extractHeaderComment(project.getFile());
+    removeUnusedProperties(resolvedModel, headerComment);
+
+    ContentComparingWriter comparingWriter;
+    try {
+      comparingWriter = new ContentComparingWriter(resolvedPomFile, getCharset(resolvedModel.getModelEncoding()));
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read " + resolvedPomFile, e);
+    }
+    try {
+      generateResolvedContent(resolvedModel, headerComment, comparingWriter, resolvedValues);
+    } finally {
+      try {
+        comparingWriter.close();
+      } catch (IOException ignore) {
+        /* ignore */
+      }
+    }
+
+    if (!comparingWriter.isEqual()) {
+      List<String> changes = fingerprint == null ? new ArrayList<>() : diffValues(fingerprint.getValues(), resolvedValues);
+      throw new MojoFailureException(toCheckFailure(changes, comparingWriter));
+    }
+    log.info("Resolved POM " + resolvedPomFile.getPath() + " is current");
+  }
+
+  /**
+   * Lists the expressions whose values differ between the given maps.
+   *
+   * @param previousValues the values the resolved POM was generated with.
+   * @param currentValues the current values.
+   * @return a line per changed expression, sorted by expression.
+   */
+  private static List<String> diffValues(Map<String, String> previousValues, Map<String, String> currentValues) {
+    Set<String> expressions = new TreeSet<>(previousValues.keySet());
+    expressions.addAll(currentValues.keySet());
+
+    List<String> changes = new ArrayList<>();
+    for (String expression : expressions) {
+      String previousValue = previousValues.get(expression);
+      String currentValue = currentValues.get(expression);
+      if (previousValue == null || !previousValue.equals(currentValue)) {
+        changes.add(expression + ": " + abbreviate(previousValue) + " -> " + abbreviate(currentValue));
+      }
+    }
+    return changes;
+  }
+
+  private static String abbreviate(String value) {
+    return value == null ? "(none)" : "'" + StringUtils.abbreviate(value, MAX_REPORTED_VALUE_LENGTH) + "'";
+  }
+
+  /**
+   * Builds the message of a failed check.
+   *
+   * @param changes the changed expressions.
+   * @param comparingWriter the {@link ContentComparingWriter} holding the first difference, may be <code>null</code>.
+   * @return the message.
+   */
+  private String toCheckFailure(List<String> changes, ContentComparingWriter comparingWriter) {
+    StringBuilder message = new StringBuilder("Resolved POM ").append(resolvedPomFile.getPath()).append(" is not current");
+    if (!changes.isEmpty()) {
+      message.append(", changed expressions:");
+      for (String change : changes) {
+        message.append(System.lineSeparator()).append("  ").append(change);
+      }
+    }
+    if (comparingWriter != null) {
+      message.append(System.lineSeparator()).append("First difference at line ").append(comparingWriter.getLineNumber())
+          .append(':').append(System.lineSeparator()).append("  expected: ")
+          .append(StringUtils.abbreviate(comparingWriter.getExpectedLine().trim(), MAX_REPORTED_VALUE_LENGTH))
+          .append(System.lineSeparator()).append("  actual:   ")
+          .append(StringUtils.abbreviate(comparingWriter.getActualLine().trim(), MAX_REPORTED_VALUE_LENGTH));
+    }
+    return message.toString();
+  }
+
+  /**
+   * Restores the resolved POM from the {@link #store} if it holds an entry with the same expression values.
+   * A failure of the store is logged and handled as a miss.
+   *
+   * @param storeKey the key computed from the inputs of the resolved POM.
+   * @return the restored entry or <code>null</code> if there is no hit.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private Fingerprint restoreFromStore(String storeKey) throws MojoExecutionException, MojoFailureException {
+    ParameterResolvingWriter.Resolver values = expression -> {
+      try {
+        return getParamValue(expression);
+      } catch (MojoExecutionException | MojoFailureException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    };
+
+    try {
+      return store.restore(storeKey, values, resolvedPomFile, storeLink);
+    } catch (IOException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      if (e.getCause() instanceof MojoFailureException) {
+        throw (MojoFailureException) e.getCause();
+      }
+      log.warn("Failed to read from the store " + store.getDirectory() + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Adds the resolved POM to the {@link #store}. A failure of the store is logged only.
+   *
+   * @param storeKey the key computed from the inputs of the resolved POM.
+   * @param fingerprint the fingerprint of the resolved POM.
+   */
+  private void addToStore(String storeKey, Fingerprint fingerprint) {
+    try {
+      Fingerprint entry = new Fingerprint(fingerprint.getContentDigest(), fingerprint.getLength(),
+          fingerprint.getValues());
+      store.store(storeKey, entry, resolvedPomFile, storeMaxSize);
+    } catch (IOException e) {
+      log.warn("Failed to write to the store " + store.getDirectory() + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Logs the summary of the timings and writes them to the {@link #timingsFile} and to the {@link #traceFile}.
+   *
+   * @param report the {@link TimingReport} of the resolution.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private void writeTimings(TimingReport report) throws MojoExecutionException {
+    log.info(report.toSummary());
+    try {
+      report.write(timingsFile);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write to " + timingsFile, e);
+    }
+    try {
+      SessionTrace.of(session, traceFile).append(report.toTraceEvents());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write to " + traceFile, e);
+    }
+  }
+
+  /**
+   * Generates the resolved model.
+   *
+   * @param originalModel the original model to be changed.
+   * @param removeStarterPlugin whether the <code>starter-maven-plugin</code> has to be removed.
+   * @param timer the {@link PhaseTimer} measuring the {@link Phase#modelClone} and the {@link Phase#pluginRemoval}.
+   * @return the resolved model.
+   */
+  static Model generateResolvedModel(Model originalModel, boolean removeStarterPlugin, PhaseTimer timer) {
+    timer.enter(Phase.modelClone);
+    Model resolvedModel;
+    try {
+      resolvedModel = ModelCopier.copyForEditing(originalModel);
+    } finally {
+      timer.exit();
+    }
+
+    if (resolvedModel.getModelEncoding() == null) {
+      resolvedModel.setModelEncoding("UTF-8");
+    }
+
+    timer.enter(Phase.pluginRemoval);
+    try {
+      removeStarterPlugin(resolvedModel, removeStarterPlugin);
+    } finally {
+      timer.exit();
+    }
+    return resolvedModel;
+  }
+
+  /**
+   * Removes the <code>starter-maven-plugin</code> from the build and profile sections of the given model.
+   *
+   * @param resolvedModel the model to be changed.
+   * @param removeStarterPlugin whether the <code>starter-maven-plugin</code> has to be removed.
+   */
+  private static void removeStarterPlugin(Model resolvedModel, boolean removeStarterPlugin) {
+    if (removeStarterPlugin) {
+      if (resolvedModel.getBuild() != null) {
+        if (resolvedModel.getBuild().getPlugins() != null) {
+          resolvedModel.getBuild().getPlugins().removeIf(plugin -> plugin.getArtifactId().equals("starter-maven-plugin"));
+        }
+      }
+
+      if (resolvedModel.getProfiles() != null) {
+        for (Profile profile : resolvedModel.getProfiles()) {
+
+          if (profile.getBuild() != null) {
+            if (profile.getBuild().getPlugins() != null) {
+              profile.getBuild().getPlugins().removeIf(plugin -> plugin.getArtifactId().equals("starter-maven-plugin"));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Prunes the {@link #prune configured sections} from the resolved model.
+   *
+   * @param resolvedModel the resolved model to be changed.
+   * @return the {@link ModelPruner} holding the pruned sections.
+   */
+  private ModelPruner pruneModel(Model resolvedModel) {
+    ModelPruner pruner = new ModelPruner(prune);
+    timer.enter(Phase.pruning);
+    try {
+      pruner.prune(resolvedModel);
+    } finally {
+      timer.exit();
+    }
+    return pruner;
+  }
+
+  /**
+   * Writes concrete coordinates into the dependencies of the resolved model if {@link #flattenDependencies} is set.
+   *
+   * @param resolvedModel the resolved model to be changed.
+   * @param resolvedValues the map collecting the evaluated expressions and their values.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private void flattenDependencies(Model resolvedModel, Map<String, String> resolvedValues)
+      throws MojoExecutionException, MojoFailureException {
+    if (!flattenDependencies) {
+      return;
+    }
+
+    ParameterResolvingWriter.Resolver evaluator = expression -> {
+      try {
+        String value = getParamValue(expression);
+        resolvedValues.put(expression, value);
+        return value;
+      } catch (MojoExecutionException | MojoFailureException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    };
+
+    timer.enter(Phase.flattening);
+    try {
+      new DependencyFlattener(project.getModel(), evaluator).flatten(resolvedModel);
+    } catch (IOException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      if (e.getCause() instanceof MojoFailureException) {
+        throw (MojoFailureException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to flatten the dependencies", e);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * Merges the inherited elements into the resolved model and removes its parent if {@link #inlineParent} is set.
+   *
+   * @param resolvedModel the resolved model to be changed.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private void inlineParent(Model resolvedModel) throws MojoExecutionException, MojoFailureException {
+    if (!inlineParent) {
+      return;
+    }
+
+    timer.enter(Phase.inlining);
+    try {
+      newParentInliner().inline(resolvedModel);
+    } catch (IOException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      if (e.getCause() instanceof MojoFailureException) {
+        throw (MojoFailureException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to inline the parent of " + project.getId(), e);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * Creates the {@link ParentInliner} of the {@link #project}, resolving the expressions through the
+   * {@link #valueCache}.
+   *
+   * @return the {@link ParentInliner}.
+   */
+  private ParentInliner newParentInliner() {
+    return new ParentInliner(project, expression -> {
+      try {
+        return getParamValue(expression);
+      } catch (MojoExecutionException | MojoFailureException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    });
+  }
+
+  /**
+   * Removes the properties no surviving expression references from the resolved model if
+   * {@link #removeUnusedProperties} is set and the project is not a POM.
+   *
+   * @param resolvedModel the resolved model to be changed.
+   * @param headerComment the header comment which will be injected, may be <code>null</code>.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private void removeUnusedProperties(Model resolvedModel, String headerComment) throws MojoExecutionException {
+    if (!removeUnusedProperties || POM_PACKAGING.equals(project.getPackaging())) {
+      return;
+    }
+
+    timer.enter(Phase.propertyRemoval);
+    Set<String> removed;
+    try {
+      removed = new UnusedPropertyRemover(matcherSet, MatcherSet.compile(keepProperties))
+          .remove(resolvedModel, headerComment);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to remove the unused properties", e);
+    } finally {
+      timer.exit();
+    }
+    if (!removed.isEmpty()) {
+      log.info("Removed unused properties " + removed + " from resolved POM of project " + project.getId());
+    }
+  }
+
+  /**
+   * Returns the given {@link Matcher matchers} preceded by the ones resolving the parent expressions, which cannot be
+   * kept once the parent is inlined.
+   *
+   * @param matchers the effective list of {@link Matcher matchers}.
+   * @return the list of {@link Matcher matchers} resolving the parent expressions first.
+   */
+  private static List<Matcher> withParentMatchers(List<Matcher> matchers) {
+    List<Matcher> parentMatchers = new ArrayList<>(matchers.size() + 2);
+    parentMatchers.add(new Matcher("project.parent.~*", Action.resolve));
+    parentMatchers.add(new Matcher("parent.~*", Action.resolve));
+    parentMatchers.addAll(matchers);
+    return parentMatchers;
+  }
+
+  /**
+   * Logs the bytes saved by pruning the {@link #prune configured sections}.
+   *
+   * @param pruner the {@link ModelPruner} holding the pruned sections.
+   * @param encoding the encoding of the resolved POM.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private void logSavedBytes(ModelPruner pruner, String encoding) throws MojoExecutionException {
+    if (prune.isEmpty()) {
+      return;
+    }
+    timer.enter(Phase.pruning);
+    try {
+      long savedBytes = pruner.getSavedBytes(getCharset(encoding));
+      log.info("Pruned " + prune + " from resolved POM of project " + project.getId() + ": about " + savedBytes
+          + " bytes saved (" + resolvedPomFile.length() + " bytes left)");
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to measure the pruned sections", e);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * Writes the resolved content to the {@link #resolvedPomFile resolved POM file} unless it is unchanged.
+   *
+   * @param resolvedModel the resolved model which needs more string processing.
+   * @param headerComment the header comment which needs to be injected, may be <code>null</code>.
+   * @param resolvedValues the map collecting the resolved expressions and their values.
+   * @param existingDigest the digest of the existing resolved POM file computed concurrently.
+   * @param inputDigest the digest of the inputs of the resolved POM.
+   * @return the {@link Fingerprint} of the resolved POM file.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private Fingerprint writeResolvedContent(Model resolvedModel, String headerComment,
+      Map<String, String> resolvedValues, Future<byte[]> existingDigest, String inputDigest)
+      throws MojoExecutionException, MojoFailureException {
+    timer.enter(Phase.fileWrite);
+    AtomicFileWriter resolvedPomWriter;
+    try {
+      resolvedPomWriter = openFile(resolvedPomFile, resolvedModel.getModelEncoding());
+    } finally {
+      timer.exit();
+    }
+    resolvedPomWriter.setExistingDigest(existingDigest);
+
+    try {
+      generateResolvedContent(resolvedModel, headerComment, resolvedPomWriter, resolvedValues);
+      timer.enter(Phase.fileWrite);
+      Object event = ResolveEvents.beginFileWrite();
+      try {
+        boolean changed = resolvedPomWriter.commit();
+        if (!changed) {
+          log.debug("Resolved POM " + resolvedPomFile.getPath() + " is unchanged");
+        }
+        ResolveEvents.commitFileWrite(event, resolvedPomFile, resolvedPomWriter.getLength(), !changed);
+      } finally {
+        timer.exit();
+      }
+      return new Fingerprint(inputDigest, resolvedPomWriter.getLength(), Fingerprint.toHex(resolvedPomWriter.getDigest()),
+          resolvedPomFile.lastModified(), resolvedValues);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write to " + resolvedPomFile, e);
+    } finally {
+      resolvedPomWriter.discard();
+    }
+  }
+
+  /**
+   * Generates the resolved content.
+   *
+   * Depending on the {@link #resolveStrategy} the parameters are either resolved in the model by a
+   * {@link ModelParameterResolver} before it is serialized, or the model is serialized through a
+   * {@link ParameterResolvingWriter} resolving the parameters on the fly. In both cases the header comment is inserted
+   * by a {@link HeaderCommentWriter} and the content is written straight into the given {@link Writer}.
+   * The {@link Writer} is closed once the content is written.
+   *
+   * @param resolvedModel the resolved model which needs more string processing.
+   * @param headerComment the header comment which needs to be injected, may be <code>null</code>.
+   * @param out the {@link Writer} to write the resolved content to.
+   * @param resolvedValues the map collecting the resolved expressions and their values.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private void generateResolvedContent(Model resolvedModel, String headerComment, Writer out,
+      Map<String, String> resolvedValues) throws MojoExecutionException, MojoFailureException {
+    ParameterResolvingWriter.Resolver resolver = new ExpressionGraph(expression -> {
+      try {
+        return resolveParameter(expression, matcherSet, resolvedValues);
+      } catch (MojoExecutionException | MojoFailureException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    }, maxExpressionDepth, log);
+
+    try {
+      boolean inserted;
+      switch (resolveStrategy) {
+        case model:
+          inserted = generateResolvedContent(resolvedModel, headerComment, out, new ModelParameterResolver(resolver),
+              timer);
+          break;
+        case text:
+          inserted = generateResolvedContent(resolvedModel, headerComment, out, resolver, timer);
+          break;
+        default:
+          throw new MojoExecutionException("Unhandled case for the resolve strategy");
+      }
+
+      if (!inserted) {
+        log.warn("POM XML post-processing failed: no project tag found!");
+      }
+    } catch (IOException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      if (e.getCause() instanceof MojoFailureException) {
+        throw (MojoFailureException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to generate string from the pom model", e);
+    }
+  }
+
+  /**
+   * Resolves the parameters of the resolved model and of the header comment in place with the given
+   * {@link ModelParameterResolver}, then serializes the model through the {@link HeaderCommentWriter} into the given
+   * {@link Writer} and closes it.
+   *
+   * @param resolvedModel the resolved model which needs more string processing.
+   * @param headerComment the header comment which needs to be injected, may be <code>null</code>.
+   * @param out the {@link Writer} to write the resolved content to.
+   * @param modelResolver the {@link ModelParameterResolver} resolving the parameter expressions.
+   * @param timer the {@link PhaseTimer} measuring the phases.
+   * @return <code>false</code> if a header comment was given but no project tag was found to insert it.
+   * @throws IOException if anything goes wrong.
+   */
+  static boolean generateResolvedContent(Model resolvedModel, String headerComment, Writer out,
+      ModelParameterResolver modelResolver, PhaseTimer timer) throws IOException {
+    String resolvedHeaderComment;
+    timer.enter(Phase.parameterResolution);
+    try {
+      resolvedModel = modelResolver.resolve(resolvedModel);
+      resolvedHeaderComment = modelResolver.resolve(headerComment);
+    } finally {
+      timer.exit();
+    }
+
+    return serialize(resolvedModel, resolvedHeaderComment, timer.wrap(out, Phase.fileWrite), timer);
+  }
+
+  /**
+   * Serializes the resolved model through the {@link HeaderCommentWriter} and the {@link ParameterResolvingWriter}
+   * into the given {@link Writer} and closes it.
+   * The time spent in each {@link Writer} is accounted to its own {@link Phase}.
+   *
+   * @param resolvedModel the resolved model which needs more string processing.
+   * @param headerComment the header comment which needs to be injected, may be <code>null</code>.
+   * @param out the {@link Writer} to write the resolved content to.
+   * @param resolver the {@link ParameterResolvingWriter.Resolver} resolving the parameter expressions.
+   * @param timer the {@link PhaseTimer} measuring the phases.
+   * @return <code>false</code> if a header comment was given but no project tag was found to insert it.
+   * @throws IOException if anything goes wrong.
+   */
+  static boolean generateResolvedContent(Model resolvedModel, String headerComment, Writer out,
+      ParameterResolvingWriter.Resolver resolver, PhaseTimer timer) throws IOException {
+    return serialize(resolvedModel, headerComment,
+        timer.wrap(new ParameterResolvingWriter(timer.wrap(out, Phase.fileWrite), resolver), Phase.parameterResolution),
+        timer);
+  }
+
+  /**
+   * Serializes the given model through a {@link HeaderCommentWriter} into the given {@link Writer} and closes it.
+   *
+   * @param model the model to serialize.
+   * @param headerComment the header comment which needs to be injected, may be <code>null</code>.
+   * @param pomWriter the {@link Writer} to write the serialized model to.
+   * @param timer the {@link PhaseTimer} measuring the phases.
+   * @return <code>false</code> if a header comment was given but no project tag was found to insert it.
+   * @throws IOException if anything goes wrong.
+   */
+  private static boolean serialize(Model model, String headerComment, Writer pomWriter, PhaseTimer timer)
+      throws IOException {
+    HeaderCommentWriter headerCommentWriter = null;
+    if (!StringUtils.isEmpty(headerComment)) {
+      headerCommentWriter = new HeaderCommentWriter(pomWriter, headerComment);
+      pomWriter = timer.wrap(headerCommentWriter, Phase.headerInsertion);
+    }
+
+    timer.enter(Phase.serialization);
+    try {
+      new MavenXpp3Writer().write(pomWriter, model);
+      pomWriter.close();
+    } finally {
+      timer.exit();
+    }
+
+    return headerCommentWriter == null || headerCommentWriter.isInserted();
+  }
+
+  /**
+   * Returns the digest of the given file if it exists.
+   *
+   * @param file the file.
+   * @return the digest of the file or <code>null</code> if it does not exist.
+   * @throws IOException if the file cannot be read.
+   */
+  private static byte[] digestExistingFile(File file) throws IOException {
+    return file.isFile() ? AtomicFileWriter.digest(file.toPath()) : null;
+  }
+
+  /**
+   * Returns the session scoped executor of the file reads overlapping with the CPU bound stages of the resolve
+   * pipeline. It is bounded to a thread per file and per project built concurrently, and its idle threads terminate, so
+   * it needs no shutdown. The projects wait for their reads with {@link Future#get()}: in the aggregate goal, the
+   * workers of its fork/join pool block on this executor while the reads never occupy the compute pool.
+   *
+   * @param session the current {@link MavenSession}.
+   * @return the executor.
+   */
+  private static ExecutorService getIoExecutor(MavenSession session) {
+    return SessionCache.get(session, IO_EXECUTOR_KEY, () -> {
+      int threads = IO_TASKS * Math.max(1, session.getRequest().getDegreeOfConcurrency());
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IO_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), IO_THREAD_FACTORY);
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    });
+  }
+
+  /**
+   * Waits for the result of a task of the executor of the file reads.
+   *
+   * @param <T> the type of the result.
+   * @param future the {@link Future} of the task.
+   * @param file the file read by the task.
+   * @return the result of the task.
+   * @throws MojoExecutionException if the task failed or the thread was interrupted.
+   */
+  private static <T> T await(Future<T> future, File file) throws MojoExecutionException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while reading " + file, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to read " + file, e.getCause());
+    }
+  }
+
+  /**
+   * This method extracts the XML header comment if available.
+   *
+   * @param pomFile is the XML {@link File} to parse.
+   * @return the XML comment between the XML header declaration and the root tag or <code>null</code> if NOT available.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  public String extractHeaderComment(File pomFile) throws MojoExecutionException {
+    List<String> comments;
+    try {
+      comments = PROLOG_COMMENTS.get(pomFile,
+          file -> Collections.unmodifiableList(PrologScanner.scan(file.toFile())));
+    } catch (IOException | RuntimeException e) {
+      throw new MojoExecutionException("Failed to parse XML from " + pomFile, e);
+    }
+
+    if (comments.isEmpty()) {
+      return null;
+    }
+    if (comments.size() > 1) {
+      log.warn("Ignoring multiple XML header comment!");
+    }
+    return comments.get(0);
+  }
+
+  /**
+   * Resolves the parameter expression corresponding to the {@link Matcher matchers}.
+   *
+   * @param wholeExpr the parameter expression including <code>${</code> and <code>}</code>.
+   * @param matcherSet the compiled {@link Matcher matchers} to compare with.
+   * @param resolvedValues the map collecting the resolved expressions and their values.
+   * @return the value of the parameter or the expression itself if it has to be kept.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private String resolveParameter(String wholeExpr, MatcherSet matcherSet, Map<String, String> resolvedValues)
+      throws MojoExecutionException, MojoFailureException {
+    Object event = ResolveEvents.beginExpression();
+    String realExpr = wholeExpr.substring(PARAM_START.length(), wholeExpr.length() - PARAM_END.length());
+    int index = matcherSet.indexOf(realExpr);
+    if (index == MatcherSet.NO_MATCH) {
+      ResolveEvents.commitExpression(event, wholeExpr, index, null);
+      return wholeExpr;
+    }
+
+    Action action = matcherSet.getAction(index);
+    switch (action) {
+      case resolve:
+        String paramValue = getParamValue(wholeExpr);
+        resolvedValues.put(wholeExpr, paramValue);
+        ResolveEvents.commitExpression(event, wholeExpr, index, action);
+        return paramValue;
+      case keep:
+        ResolveEvents.commitExpression(event, wholeExpr, index, action);
+        return wholeExpr;
+      default:
+        throw new MojoExecutionException("Unresolved default value for 'matcher.getAction()'");
+    }
+  }
+
+  /**
+   * Computes the digest of the inputs the resolved POM is generated from.
+   *
+   * The digest covers the plugin itself, the configuration, the effective {@link Matcher matchers},
+   * the content of the original <code>pom.xml</code> and the files of the parent chain.
+   * The portable digest used as key of the {@link #store} does not depend on the location and the modification time
+   * of the files: the content of the parent files is digested and the plugin is only identified by its id unless it is
+   * a snapshot.
+   *
+   * @param portable whether the digest has to be independent of the location of the files.
+   * @return the hex encoded digest.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private String computeDigest(boolean portable) throws MojoExecutionException {
+    MessageDigest digest = Fingerprint.newDigest();
+
+    if (mojo.getMojoDescriptor() != null) {
+      PluginDescriptor pluginDescriptor = mojo.getMojoDescriptor().getPluginDescriptor();
+      updateDigest(digest, pluginDescriptor.getId());
+      Artifact pluginArtifact = pluginDescriptor.getPluginArtifact();
+      if (pluginArtifact != null && pluginArtifact.getFile() != null && (!portable || pluginArtifact.isSnapshot())) {
+        updateDigest(digest, Long.toString(pluginArtifact.getFile().lastModified()));
+      }
+    }
+
+    updateDigest(digest, resolveMode.name());
+    updateDigest(digest, resolveStrategy.name());
+    updateDigest(digest, Boolean.toString(removeStarterPlugin));
+    updateDigest(digest, Integer.toString(maxExpressionDepth));
+    updateDigest(digest, prune.toString());
+    updateDigest(digest, Boolean.toString(flattenDependencies));
+    updateDigest(digest, Boolean.toString(inlineParent));
+    updateDigest(digest, Boolean.toString(removeUnusedProperties));
+    for (Matcher matcher : keepProperties) {
+      updateDigest(digest, matcher.getPattern());
+    }
+    if (inlineParent) {
+      // the inlined elements may come from active profiles, the settings or imported BOMs
+      newParentInliner().updateDigest(digest);
+    }
+    if (flattenDependencies) {
+      // the managed versions may come from imported BOMs which are not part of the parent chain
+      Model effectiveModel = project.getModel();
+      for (Dependency dependency : effectiveModel.getDependencies()) {
+        updateDigest(digest, dependency.getManagementKey() + ':' + dependency.getVersion());
+      }
+      if (effectiveModel.getDependencyManagement() != null) {
+        for (Dependency dependency : effectiveModel.getDependencyManagement().getDependencies()) {
+          updateDigest(digest, dependency.getManagementKey() + ':' + dependency.getVersion());
+        }
+      }
+    }
+    for (Matcher matcher : matchers) {
+      updateDigest(digest, matcher.getPattern());
+      updateDigest(digest, matcher.getAction().name());
+    }
+
+    updateDigest(digest, digestFile(project.getFile()));
+
+    for (MavenProject parent = project.getParent(); parent != null; parent = parent.getParent()) {
+      updateDigest(digest, parent.getId());
+      File parentFile = parent.getFile();
+      if (parentFile != null && portable) {
+        updateDigest(digest, digestFile(parentFile));
+      } else if (parentFile != null) {
+        updateDigest(digest, parentFile.getAbsolutePath());
+        updateDigest(digest, Long.toString(parentFile.length()));
+        updateDigest(digest, Long.toString(parentFile.lastModified()));
+      }
+    }
+
+    return Fingerprint.toHex(digest.digest());
+  }
+
+  /**
+   * Returns the hex encoded digest of the content of the given file from the JVM-lifetime cache.
+   *
+   * @param file the file.
+   * @return the hex encoded digest.
+   * @throws MojoExecutionException if the file cannot be read.
+   */
+  private static String digestFile(File file) throws MojoExecutionException {
+    try {
+      return POM_DIGESTS.get(file, path -> Fingerprint.toHex(AtomicFileWriter.digest(path)));
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read " + file, e);
+    }
+  }
+
+  /**
+   * Reads the fingerprint of the resolved POM through the JVM-lifetime cache.
+   *
+   * @return the fingerprint or <code>null</code> if there is no valid fingerprint.
+   */
+  private Fingerprint readFingerprint() {
+    try {
+      return FINGERPRINTS.get(fingerprintFile, path -> Fingerprint.read(path.toFile()));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the statistics of the JVM-lifetime caches, which outlive a build in a Maven daemon.
+   *
+   * @return the statistics of the caches.
+   */
+  public static String getWarmCacheStatistics() {
+    return MatcherSet.getCacheStatistics() + "; " + POM_DIGESTS + "; " + PROLOG_COMMENTS + "; " + FINGERPRINTS;
+  }
+
+  private static void updateDigest(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Returns whether the resolved POM is up to date.
+   *
+   * @param inputDigest the current digest of the inputs.
+   * @return <code>true</code> if the stored fingerprint matches the current inputs and expression values.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private boolean isUpToDate(String inputDigest) throws MojoExecutionException, MojoFailureException {
+    Fingerprint fingerprint = readFingerprint();
+    if (fingerprint == null || !fingerprint.getDigest().equals(inputDigest)) {
+      return false;
+    }
+    boolean stateTrusted = isResolvedPomStateTrusted(fingerprint);
+    if (!stateTrusted && !isResolvedPomIntact(fingerprint)) {
+      return false;
+    }
+    for (Map.Entry<String, String> entry : fingerprint.getValues().entrySet()) {
+      if (!entry.getValue().equals(getParamValue(entry.getKey()))) {
+        return false;
+      }
+    }
+    if (!stateTrusted) {
+      // the content has been verified, its state is recorded so the next builds skip reading it
+      log.debug("Verified the content of the resolved POM " + resolvedPomFile.getPath());
+      writeFingerprint(new Fingerprint(fingerprint.getDigest(), fingerprint.getLength(), fingerprint.getContentDigest(),
+          resolvedPomFile.lastModified(), fingerprint.getValues()), fingerprintFile);
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the length and the modification time of the resolved POM file match the given fingerprint, which
+   * has been written after the racy window of the modification, so any later change of the file would have changed its
+   * modification time. The content of the file does not need to be read then.
+   *
+   * @param fingerprint the fingerprint of the resolved POM.
+   * @return <code>true</code> if the state of the file proves that it is unchanged.
+   */
+  private boolean isResolvedPomStateTrusted(Fingerprint fingerprint) {
+    long lastModified = resolvedPomFile.lastModified();
+    return fingerprint.getContentDigest() != null && fingerprint.getLastModified() != 0
+        && fingerprint.getLastModified() == lastModified && resolvedPomFile.length() == fingerprint.getLength()
+        && fingerprintFile.lastModified() - lastModified >= FileStateCache.RACY_WINDOW_MILLIS;
+  }
+
+  /**
+   * Returns whether the resolved POM file still has the content recorded in the given fingerprint, so a manual edit
+   * or a corruption of the file is detected even if it keeps the length.
+   *
+   * @param fingerprint the fingerprint of the resolved POM.
+   * @return <code>true</code> if the length and the digest of the content match the fingerprint.
+   * @throws MojoExecutionException if the resolved POM cannot be read.
+   */
+  private boolean isResolvedPomIntact(Fingerprint fingerprint) throws MojoExecutionException {
+    if (fingerprint.getContentDigest() == null || !resolvedPomFile.isFile()
+        || resolvedPomFile.length() != fingerprint.getLength()) {
+      return false;
+    }
+    try {
+      String contentDigest = Fingerprint.toHex(AtomicFileWriter.digest(resolvedPomFile.toPath()));
+      return fingerprint.getContentDigest().equals(contentDigest);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to read " + resolvedPomFile, e);
+    }
+  }
+
+  /**
+   * Writes the fingerprint of the resolved POM.
+   *
+   * @param fingerprint the fingerprint to write.
+   * @param fingerprintFile the file to write to.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private void writeFingerprint(Fingerprint fingerprint, File fingerprintFile) throws MojoExecutionException {
+    Object event = ResolveEvents.beginFileWrite();
+    try {
+      fingerprint.write(fingerprintFile);
+      ResolveEvents.commitFileWrite(event, fingerprintFile, fingerprintFile.length(), false);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write to " + fingerprintFile, e);
+    }
+  }
+
+  /**
+   * Gets the value of the parameter from the {@link #valueCache} or evaluates it if not cached yet.
+   *
+   * @param paramName the parameter name asked.
+   * @return the value of the parameter.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private String getParamValue(String paramName) throws MojoExecutionException, MojoFailureException {
+    Object event = ResolveEvents.beginValueLookup();
+    String paramValue = valueCache.get(session, project, paramName);
+    boolean hit = paramValue != null;
+    if (!hit) {
+      paramValue = evaluateParamValue(paramName);
+      valueCache.put(session, project, paramName, paramValue);
+    }
+    ResolveEvents.commitValueLookup(event, paramName, hit);
+    return paramValue;
+  }
+
+  /**
+   * Evaluates the value of the parameter.
+   *
+   * @param paramName the parameter name asked.
+   * @return the value of the parameter.
+   * @throws MojoExecutionException if anything goes wrong.
+   * @throws MojoFailureException if anything goes wrong.
+   */
+  private String evaluateParamValue(String paramName) throws MojoExecutionException, MojoFailureException {
+    String coordinate = CoordinateExpressions.evaluate(project, paramName);
+    if (coordinate != null) {
+      return coordinate;
+    }
+
+    Object obj;
+    timer.enter(Phase.evaluation);
+    timer.countEvaluation();
+    try {
+      obj = getEvaluator().evaluate(paramName);
+    } catch (ExpressionEvaluationException e) {
+      throw new MojoExecutionException("Error when evaluating the Maven expression", e);
+    } finally {
+      timer.exit();
+    }
+
+    // handle null
+    if (obj == null) {
+      log.warn("The evaluator returned null for the parameter name '" + paramName + "'. Parameter not resolved.");
+      return paramName;
+    }
+    // handle same value returned
+    else if (paramName.equals(obj.toString())) {
+      log.warn("The evaluator returned the same value as the parameter name for the parameter name '" + paramName + "'. Parameter not resolved.");
+      return paramName;
+    }
+
+    // handle the types of the registered renderers
+    String paramValue;
+    try {
+      paramValue = renderers.render(obj);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Error when rendering the value of the parameter name '" + paramName + "'", e);
+    }
+    // other Maven objects
+    if (paramValue == null) {
+      log.warn("The evaluator returned an unsupported type for the parameter name '" + paramName + "'. Parameter not resolved.");
+      return paramName;
+    }
+    return paramValue;
+  }
+
+  /**
+   * Returns a lazy loading evaluator object.
+   *
+   * @return the evaluator object.
+   */
+  private ProjectEvaluator getEvaluator() {
+    if (evaluator == null) {
+      evaluator = new ProjectEvaluator(session, project, mojo);
+    }
+    return evaluator;
+  }
+
+  /**
+   * Opens an {@link AtomicFileWriter} on the given <code>file</code> using the specified <code>encoding</code>.
+   *
+   * @param file is the {@link File} to write to.
+   * @param encoding is the encoding to use for writing the file.
+   * @return the {@link AtomicFileWriter}.
+   * @throws MojoExecutionException if anything goes wrong.
+   */
+  private AtomicFileWriter openFile(File file, String encoding) throws MojoExecutionException {
+    File parentDir = file.getAbsoluteFile().getParentFile();
+    if (!parentDir.exists()) {
+      boolean success = parentDir.mkdirs();
+      if (!success) {
+        throw new MojoExecutionException("Failed to create directory " + parentDir);
+      }
+    }
+
+    Charset charset = getCharset(encoding);
+    try {
+      return new AtomicFileWriter(file, charset);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to write to " + file, e);
+    }
+  }
+
+  private static Charset getCharset(String encoding) throws MojoExecutionException {
+    try {
+      return Charset.forName(encoding);
+    } catch (IllegalArgumentException e) {
+      throw new MojoExecutionException("Failed to get bytes with the given encoding from data to be written to file", e);
+    }
+  }
+
+}
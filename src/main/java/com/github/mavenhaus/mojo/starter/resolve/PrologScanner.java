@@ -0,0 +1,206 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * This class scans the prolog of an XML document, i.e. the content before the root tag, and collects its comments.
+ * The scan stops at the root tag, so the rest of the document is never read. The encoding is detected from the
+ * byte order mark or the XML declaration.
+ */
+public final class PrologScanner {
+
+  /**
+   * The number of bytes looked at to detect the encoding.
+   */
+  private static final int DECLARATION_LIMIT = 1024;
+
+  private static final int BUFFER_SIZE = 4096;
+
+  private static final Pattern ENCODING_PATTERN = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+
+  private static final String XML_DECLARATION_START = "<?xml";
+
+  private static final String PI_END = "?>";
+
+  private static final String COMMENT_END = "-->";
+
+  /**
+   * Creates a new instance of {@link PrologScanner}.
+   */
+  private PrologScanner() {
+    super();
+  }
+
+  /**
+   * Returns the comments located before the root tag of the given XML file.
+   *
+   * @param file the XML {@link File} to scan.
+   * @return the comments in document order without <code>&lt;!--</code> and <code>--&gt;</code>.
+   * @throws IOException if the file cannot be read or its encoding is not supported.
+   */
+  public static List<String> scan(File file) throws IOException {
+    try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE)) {
+      return scan(inputStream);
+    }
+  }
+
+  /**
+   * Returns the comments located before the root tag of the given XML stream.
+   *
+   * @param inputStream the XML stream to scan, it has to support {@link InputStream#mark(int)}.
+   * @return the comments in document order without <code>&lt;!--</code> and <code>--&gt;</code>.
+   * @throws IOException if the stream cannot be read or its encoding is not supported.
+   */
+  public static List<String> scan(InputStream inputStream) throws IOException {
+    Reader reader = new InputStreamReader(inputStream, detectCharset(inputStream));
+    List<String> comments = new ArrayList<>();
+
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (c != '<') {
+        continue;
+      }
+      int next = reader.read();
+      if (next == '?') {
+        readUntil(reader, PI_END);
+      } else if (next == '!') {
+        if (reader.read() == '-') {
+          reader.read();
+          comments.add(readUntil(reader, COMMENT_END));
+        } else {
+          skipDoctype(reader);
+        }
+      } else {
+        // root tag reached
+        break;
+      }
+    }
+    return comments;
+  }
+
+  /**
+   * Detects the encoding from the byte order mark or the XML declaration and skips the byte order mark.
+   *
+   * @param inputStream the XML stream.
+   * @return the detected {@link Charset}, defaults to <code>UTF-8</code>.
+   * @throws IOException if the stream cannot be read or the encoding is not supported.
+   */
+  private static Charset detectCharset(InputStream inputStream) throws IOException {
+    byte[] head = new byte[DECLARATION_LIMIT];
+    inputStream.mark(DECLARATION_LIMIT);
+    int length = 0;
+    int count;
+    while (length < head.length && (count = inputStream.read(head, length, head.length - length)) != -1) {
+      length += count;
+    }
+    inputStream.reset();
+
+    if (length >= 3 && (head[0] & 0xff) == 0xef && (head[1] & 0xff) == 0xbb && (head[2] & 0xff) == 0xbf) {
+      skip(inputStream, 3);
+      return StandardCharsets.UTF_8;
+    }
+    if (length >= 2 && (head[0] & 0xff) == 0xfe && (head[1] & 0xff) == 0xff) {
+      skip(inputStream, 2);
+      return StandardCharsets.UTF_16BE;
+    }
+    if (length >= 2 && (head[0] & 0xff) == 0xff && (head[1] & 0xff) == 0xfe) {
+      skip(inputStream, 2);
+      return StandardCharsets.UTF_16LE;
+    }
+    if (length >= 4 && head[0] == 0 && head[1] == '<' && head[2] == 0 && head[3] == '?') {
+      return StandardCharsets.UTF_16BE;
+    }
+    if (length >= 4 && head[0] == '<' && head[1] == 0 && head[2] == '?' && head[3] == 0) {
+      return StandardCharsets.UTF_16LE;
+    }
+
+    String declaration = new String(head, 0, length, StandardCharsets.ISO_8859_1);
+    if (declaration.startsWith(XML_DECLARATION_START)) {
+      int end = declaration.indexOf(PI_END);
+      java.util.regex.Matcher matcher = ENCODING_PATTERN.matcher(end < 0 ? declaration : declaration.substring(0, end));
+      if (matcher.find()) {
+        return Charset.forName(matcher.group(1));
+      }
+    }
+    return StandardCharsets.UTF_8;
+  }
+
+  private static void skip(InputStream inputStream, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      inputStream.read();
+    }
+  }
+
+  /**
+   * Reads until the given terminator or the end of the stream.
+   *
+   * @param reader the {@link Reader} to read from.
+   * @param terminator the terminator.
+   * @return the content read without the terminator.
+   * @throws IOException if the stream cannot be read.
+   */
+  private static String readUntil(Reader reader, String terminator) throws IOException {
+    StringBuilder content = new StringBuilder();
+    int c;
+    while ((c = reader.read()) != -1) {
+      content.append((char) c);
+      int start = content.length() - terminator.length();
+      if (c == terminator.charAt(terminator.length() - 1) && start >= 0 && content.indexOf(terminator, start) == start) {
+        content.setLength(start);
+        break;
+      }
+    }
+    return content.toString();
+  }
+
+  /**
+   * Skips a document type declaration including its internal subset.
+   *
+   * @param reader the {@link Reader} to read from.
+   * @throws IOException if the stream cannot be read.
+   */
+  private static void skipDoctype(Reader reader) throws IOException {
+    int depth = 0;
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (c == '[') {
+        depth++;
+      } else if (c == ']') {
+        depth--;
+      } else if (c == '>' && depth <= 0) {
+        break;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,163 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * This is the session scoped index of the projects of the reactor, mapping <code>groupId:artifactId</code> to the
+ * version, built once from {@link MavenSession#getProjects()}. The sibling modules listed in the
+ * <code>dependencyManagement</code> of a starter parent are looked up in it, so a parent listing hundreds of siblings
+ * is checked with as many hash lookups. The coordinate expressions of the project themselves are answered by
+ * {@link CoordinateExpressions}.
+ */
+public final class ReactorIndex {
+
+  private static final String SESSION_KEY = ReactorIndex.class.getName();
+
+  private static final String PROJECT_GROUP_ID = "${project.groupId}";
+
+  private static final String PROJECT_VERSION = "${project.version}";
+
+  /**
+   * The versions of the projects of the reactor keyed by <code>groupId:artifactId</code>.
+   */
+  private final Map<String, String> versions;
+
+  private final LongAdder lookups;
+
+  /**
+   * Creates a new instance of {@link ReactorIndex}.
+   *
+   * @param projects the projects of the reactor.
+   */
+  private ReactorIndex(List<MavenProject> projects) {
+    Map<String, String> projectVersions = new HashMap<>(projects.size() * 2);
+    for (MavenProject project : projects) {
+      projectVersions.put(getKey(project.getGroupId(), project.getArtifactId()), project.getVersion());
+    }
+    this.versions = Collections.unmodifiableMap(projectVersions);
+    this.lookups = new LongAdder();
+  }
+
+  /**
+   * Returns the {@link ReactorIndex} of the given session.
+   *
+   * @param session the current {@link MavenSession}.
+   * @return the {@link ReactorIndex}.
+   */
+  public static ReactorIndex of(MavenSession session) {
+    return SessionCache.get(session, SESSION_KEY, () -> new ReactorIndex(
+        session.getProjects() != null ? session.getProjects() : Collections.<MavenProject>emptyList()));
+  }
+
+  /**
+   * Returns whether the given module is a project of the reactor.
+   *
+   * @param groupId the group id of the module.
+   * @param artifactId the artifact id of the module.
+   * @return <code>true</code> if the module is a project of the reactor.
+   */
+  public boolean contains(String groupId, String artifactId) {
+    return versions.containsKey(getKey(groupId, artifactId));
+  }
+
+  /**
+   * Returns the version of the given project of the reactor.
+   *
+   * @param groupId the group id of the module.
+   * @param artifactId the artifact id of the module.
+   * @return the version or <code>null</code> if the module is not a project of the reactor.
+   */
+  public String getVersion(String groupId, String artifactId) {
+    return versions.get(getKey(groupId, artifactId));
+  }
+
+  /**
+   * Checks the sibling modules listed in the <code>dependencyManagement</code> of the given model, i.e. the managed
+   * dependencies whose group id and version are the ones of the project. Every sibling has to be a project of the
+   * reactor with the version of the project.
+   *
+   * @param model the model of the project, its expressions are not resolved.
+   * @param project the project.
+   * @return a description per missing or mismatching sibling, empty if all the siblings are in the reactor.
+   */
+  public List<String> checkSiblings(Model model, MavenProject project) {
+    DependencyManagement dependencyManagement = model.getDependencyManagement();
+    if (dependencyManagement == null || dependencyManagement.getDependencies().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<String> problems = new ArrayList<>();
+    for (Dependency dependency : dependencyManagement.getDependencies()) {
+      if (!PROJECT_VERSION.equals(dependency.getVersion()) || dependency.getArtifactId() == null
+          || dependency.getArtifactId().contains("${")) {
+        continue;
+      }
+      String groupId = PROJECT_GROUP_ID.equals(dependency.getGroupId()) ? project.getGroupId() : dependency.getGroupId();
+      if (!project.getGroupId().equals(groupId)) {
+        continue;
+      }
+      lookups.increment();
+      String version = getVersion(groupId, dependency.getArtifactId());
+      if (version == null) {
+        problems.add(getKey(groupId, dependency.getArtifactId()) + " is not a module of the reactor");
+      } else if (!version.equals(project.getVersion())) {
+        problems.add(getKey(groupId, dependency.getArtifactId()) + " has the version " + version + " instead of "
+            + project.getVersion());
+      }
+    }
+    return problems;
+  }
+
+  /**
+   * Returns the number of projects indexed.
+   *
+   * @return the number of projects indexed.
+   */
+  public int size() {
+    return versions.size();
+  }
+
+  /**
+   * Returns the number of siblings looked up.
+   *
+   * @return the number of lookups.
+   */
+  public long getLookups() {
+    return lookups.sum();
+  }
+
+  private static String getKey(String groupId, String artifactId) {
+    return groupId + ':' + artifactId;
+  }
+
+}
@@ -0,0 +1,159 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+/**
+ * This class emits the Java Flight Recorder events of the resolution: the resolution of a project, the evaluation of
+ * an expression, the lookup of a value in the {@link ValueCache} and the write of a file.
+ * The events are only emitted if the running JVM provides the <code>jdk.jfr</code> module, otherwise every method is a
+ * no-op. An event is started by a <code>begin</code> method returning an opaque handle, <code>null</code> if the
+ * events are not available, and is committed by the matching <code>commit</code> method. The fields of an event are
+ * only set if it is recorded, so the events cost next to nothing while no recording is running.
+ */
+public final class ResolveEvents {
+
+  private static final String EVENT_CLASS_NAME = "jdk.jfr.Event";
+
+  /**
+   * Whether the Java Flight Recorder events are available in the running JVM.
+   */
+  private static final boolean AVAILABLE = isAvailable();
+
+  /**
+   * Creates a new instance of {@link ResolveEvents}.
+   */
+  private ResolveEvents() {
+    super();
+  }
+
+  /**
+   * Returns whether the Java Flight Recorder events are available in the running JVM.
+   *
+   * @return <code>true</code> if the events are available.
+   */
+  public static boolean isEnabled() {
+    return AVAILABLE;
+  }
+
+  /**
+   * Begins the event of the resolution of a project.
+   *
+   * @return the handle of the event, <code>null</code> if the events are not available.
+   */
+  public static Object beginProject() {
+    return AVAILABLE ? JfrEvents.beginProject() : null;
+  }
+
+  /**
+   * Commits the event of the resolution of a project.
+   *
+   * @param event the handle returned by {@link #beginProject()}.
+   * @param projectId the id of the project.
+   * @param upToDate whether the resolved POM was up to date.
+   * @param originalPomFile the original POM file.
+   * @param resolvedPomFile the resolved POM file.
+   */
+  public static void commitProject(Object event, String projectId, boolean upToDate, File originalPomFile,
+      File resolvedPomFile) {
+    if (event != null) {
+      JfrEvents.commitProject(event, projectId, upToDate, originalPomFile, resolvedPomFile);
+    }
+  }
+
+  /**
+   * Begins the event of the evaluation of an expression.
+   *
+   * @return the handle of the event, <code>null</code> if the events are not available.
+   */
+  public static Object beginExpression() {
+    return AVAILABLE ? JfrEvents.beginExpression() : null;
+  }
+
+  /**
+   * Commits the event of the evaluation of an expression.
+   *
+   * @param event the handle returned by {@link #beginExpression()}.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @param matcherIndex the index of the matching {@link Matcher}, {@link MatcherSet#NO_MATCH} if none matches.
+   * @param action the {@link Action} of the matching {@link Matcher}, <code>null</code> if none matches.
+   */
+  public static void commitExpression(Object event, String expression, int matcherIndex, Action action) {
+    if (event != null) {
+      JfrEvents.commitExpression(event, expression, matcherIndex, action);
+    }
+  }
+
+  /**
+   * Begins the event of the lookup of a value in the {@link ValueCache}.
+   *
+   * @return the handle of the event, <code>null</code> if the events are not available.
+   */
+  public static Object beginValueLookup() {
+    return AVAILABLE ? JfrEvents.beginValueLookup() : null;
+  }
+
+  /**
+   * Commits the event of the lookup of a value in the {@link ValueCache}.
+   *
+   * @param event the handle returned by {@link #beginValueLookup()}.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @param hit whether the value was cached, otherwise it has been evaluated.
+   */
+  public static void commitValueLookup(Object event, String expression, boolean hit) {
+    if (event != null) {
+      JfrEvents.commitValueLookup(event, expression, hit);
+    }
+  }
+
+  /**
+   * Begins the event of the write of a file.
+   *
+   * @return the handle of the event, <code>null</code> if the events are not available.
+   */
+  public static Object beginFileWrite() {
+    return AVAILABLE ? JfrEvents.beginFileWrite() : null;
+  }
+
+  /**
+   * Commits the event of the write of a file.
+   *
+   * @param event the handle returned by {@link #beginFileWrite()}.
+   * @param file the written file.
+   * @param bytes the number of bytes of the content.
+   * @param unchanged whether the write was skipped as the file had the same content already.
+   */
+  public static void commitFileWrite(Object event, File file, long bytes, boolean unchanged) {
+    if (event != null) {
+      JfrEvents.commitFileWrite(event, file, bytes, unchanged);
+    }
+  }
+
+  private static boolean isAvailable() {
+    try {
+      Class.forName(EVENT_CLASS_NAME, false, ResolveEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,414 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is a content-addressed store of resolved POMs shared by the builds of a host.
+ * The resolved POMs are stored once per content under <code>objects/&lt;digest&gt;.xml</code>. They are looked up by
+ * a key computed from the original model, its parent chain, the configuration and the effective
+ * {@link Matcher matchers}: for each key the directory <code>index/&lt;key&gt;</code> holds one entry per set of
+ * expression values, which records the resolved expressions with their values and the digest of the content.
+ * An entry is a hit if the current values of its expressions are still the same.<br>
+ * All the changes of the store are done under an exclusive lock of the file <code>store.lock</code>, so concurrent
+ * builds on the same host never see a partially written file. The size of the objects is bounded: the least recently
+ * used objects, i.e. with the oldest modification time, are evicted with their entries once the size is exceeded.
+ */
+public final class ResolvedPomStore {
+
+  private static final String OBJECTS_DIRECTORY = "objects";
+
+  private static final String INDEX_DIRECTORY = "index";
+
+  private static final String LOCK_FILE = "store.lock";
+
+  private static final String OBJECT_SUFFIX = ".xml";
+
+  private static final String ENTRY_SUFFIX = ".properties";
+
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  /**
+   * The stores of the JVM by directory. A {@link FileLock} is held on behalf of the whole JVM, so the threads of a
+   * parallel build have to be serialized by the store before it is acquired.
+   */
+  private static final ConcurrentMap<Path, ResolvedPomStore> STORES = new ConcurrentHashMap<>();
+
+  private final Path directory;
+
+  private final Path objectsDirectory;
+
+  private final Path indexDirectory;
+
+  /**
+   * Creates a new instance of {@link ResolvedPomStore}.
+   *
+   * @param directory the directory of the store.
+   */
+  private ResolvedPomStore(Path directory) {
+    this.directory = directory;
+    this.objectsDirectory = directory.resolve(OBJECTS_DIRECTORY);
+    this.indexDirectory = directory.resolve(INDEX_DIRECTORY);
+  }
+
+  /**
+   * Returns the {@link ResolvedPomStore} located in the given directory.
+   *
+   * @param directory the directory of the store, created on the first write.
+   * @return the {@link ResolvedPomStore}.
+   */
+  public static ResolvedPomStore of(File directory) {
+    return STORES.computeIfAbsent(directory.getAbsoluteFile().toPath().normalize(), ResolvedPomStore::new);
+  }
+
+  /**
+   * Returns the directory of the store.
+   *
+   * @return the directory of the store.
+   */
+  public File getDirectory() {
+    return directory.toFile();
+  }
+
+  /**
+   * Looks up the entries stored under the given key and restores the resolved POM of the first entry whose
+   * expressions still have the same values to the given file. The file is only replaced if its content differs.
+   * The object of the entry becomes the most recently used one.
+   *
+   * @param key the key computed from the inputs of the resolved POM.
+   * @param values the {@link ParameterResolvingWriter.Resolver} returning the current value of an expression.
+   * @param target the resolved POM file to restore.
+   * @param link whether the file shall be a hard link to the object instead of a copy.
+   * @return the restored entry, its digest is the one of the content, or <code>null</code> if there is no hit.
+   * @throws IOException if the store cannot be read or the file cannot be written.
+   */
+  public Fingerprint restore(String key, ParameterResolvingWriter.Resolver values, File target, boolean link)
+      throws IOException {
+    Path entriesDirectory = indexDirectory.resolve(key);
+    if (!Files.isDirectory(entriesDirectory)) {
+      return null;
+    }
+
+    List<Fingerprint> entries = locked(() -> readEntries(entriesDirectory));
+    for (Fingerprint entry : entries) {
+      if (matches(entry, values)) {
+        boolean restored = locked(() -> restoreObject(entry, target.toPath(), link));
+        if (restored) {
+          return entry;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Stores the given resolved POM file under the given key, then evicts the least recently used objects until the
+   * size of the store does not exceed the given maximum.
+   *
+   * @param key the key computed from the inputs of the resolved POM.
+   * @param entry the entry to store, its digest is the one of the content.
+   * @param content the resolved POM file.
+   * @param maxSize the maximum size of the objects in bytes.
+   * @throws IOException if the store cannot be written.
+   */
+  public void store(String key, Fingerprint entry, File content, long maxSize) throws IOException {
+    Path entriesDirectory = indexDirectory.resolve(key);
+    locked(() -> {
+      Path object = getObject(entry.getDigest());
+      if (Files.isRegularFile(object)) {
+        Files.setLastModifiedTime(object, FileTime.fromMillis(System.currentTimeMillis()));
+      } else {
+        Files.createDirectories(objectsDirectory);
+        Path tempFile = Files.createTempFile(objectsDirectory, entry.getDigest(), TEMP_FILE_SUFFIX);
+        try {
+          Files.copy(content.toPath(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+          move(tempFile, object);
+        } finally {
+          Files.deleteIfExists(tempFile);
+        }
+      }
+
+      Files.createDirectories(entriesDirectory);
+      Path entryFile = entriesDirectory.resolve(getEntryName(entry.getValues()) + ENTRY_SUFFIX);
+      Path tempFile = Files.createTempFile(entriesDirectory, entryFile.getFileName().toString(), TEMP_FILE_SUFFIX);
+      try {
+        entry.write(tempFile.toFile());
+        move(tempFile, entryFile);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+
+      evict(maxSize);
+      return null;
+    });
+  }
+
+  /**
+   * Reads the valid entries of the given directory. Entries whose object has been evicted are deleted.
+   *
+   * @param entriesDirectory the directory of the entries of a key.
+   * @return the valid entries.
+   * @throws IOException if the directory cannot be read.
+   */
+  private List<Fingerprint> readEntries(Path entriesDirectory) throws IOException {
+    List<Fingerprint> entries = new ArrayList<>();
+    for (Path entryFile : list(entriesDirectory, ENTRY_SUFFIX)) {
+      Fingerprint entry = Fingerprint.read(entryFile.toFile());
+      Path object = entry == null ? null : getObject(entry.getDigest());
+      if (object == null || !Files.isRegularFile(object) || Files.size(object) != entry.getLength()) {
+        Files.deleteIfExists(entryFile);
+      } else {
+        entries.add(entry);
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Returns whether the expressions of the given entry still have the same values.
+   *
+   * @param entry the entry.
+   * @param values the {@link ParameterResolvingWriter.Resolver} returning the current value of an expression.
+   * @return <code>true</code> if all the expressions have the same values.
+   * @throws IOException if an expression cannot be evaluated.
+   */
+  private static boolean matches(Fingerprint entry, ParameterResolvingWriter.Resolver values) throws IOException {
+    for (Map.Entry<String, String> value : entry.getValues().entrySet()) {
+      if (!value.getValue().equals(values.resolve(value.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Restores the object of the given entry to the given file unless the file has the same content already.
+   * The content of the object is verified first: an object changed since it has been stored, e.g. through a hard link
+   * written in place, is deleted instead of being restored.
+   *
+   * @param entry the entry.
+   * @param target the file to restore.
+   * @param link whether the file shall be a hard link to the object instead of a copy.
+   * @return <code>false</code> if the object has been evicted in the meantime or has been changed.
+   * @throws IOException if the file cannot be written.
+   */
+  private boolean restoreObject(Fingerprint entry, Path target, boolean link) throws IOException {
+    Path object = getObject(entry.getDigest());
+    if (!Files.isRegularFile(object)) {
+      return false;
+    }
+    if (Files.size(object) != entry.getLength()
+        || !Fingerprint.toHex(AtomicFileWriter.digest(object)).equals(entry.getDigest())) {
+      Files.deleteIfExists(object);
+      return false;
+    }
+    Files.setLastModifiedTime(object, FileTime.fromMillis(System.currentTimeMillis()));
+
+    if (Files.isRegularFile(target) && Files.size(target) == entry.getLength()
+        && Fingerprint.toHex(AtomicFileWriter.digest(target)).equals(entry.getDigest())) {
+      return true;
+    }
+
+    Path targetDirectory = target.toAbsolutePath().getParent();
+    Files.createDirectories(targetDirectory);
+    Path tempFile = AtomicFileWriter.createTempFile(target);
+    try {
+      if (link) {
+        Files.delete(tempFile);
+        try {
+          Files.createLink(tempFile, object);
+        } catch (IOException | UnsupportedOperationException e) {
+          Files.copy(object, tempFile);
+        }
+      } else {
+        Files.copy(object, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      move(tempFile, target);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+    return true;
+  }
+
+  /**
+   * Evicts the least recently used objects and their entries until the size of the objects does not exceed the given
+   * maximum.
+   *
+   * @param maxSize the maximum size of the objects in bytes.
+   * @throws IOException if the store cannot be read or written.
+   */
+  private void evict(long maxSize) throws IOException {
+    List<Path> objects = list(objectsDirectory, OBJECT_SUFFIX);
+    long size = 0;
+    for (Path object : objects) {
+      size += Files.size(object);
+    }
+    if (size <= maxSize) {
+      return;
+    }
+
+    Map<Path, FileTime> lastModifiedTimes = new HashMap<>();
+    for (Path object : objects) {
+      lastModifiedTimes.put(object, Files.getLastModifiedTime(object));
+    }
+    objects.sort(Comparator.comparing(lastModifiedTimes::get));
+
+    Set<String> evicted = new HashSet<>();
+    for (Path object : objects) {
+      if (size <= maxSize) {
+        break;
+      }
+      size -= Files.size(object);
+      Files.deleteIfExists(object);
+      String name = object.getFileName().toString();
+      evicted.add(name.substring(0, name.length() - OBJECT_SUFFIX.length()));
+    }
+
+    for (Path entriesDirectory : list(indexDirectory, "")) {
+      if (!Files.isDirectory(entriesDirectory)) {
+        continue;
+      }
+      List<Path> entryFiles = list(entriesDirectory, ENTRY_SUFFIX);
+      int remaining = entryFiles.size();
+      for (Path entryFile : entryFiles) {
+        Fingerprint entry = Fingerprint.read(entryFile.toFile());
+        if (entry == null || evicted.contains(entry.getDigest())) {
+          Files.deleteIfExists(entryFile);
+          remaining--;
+        }
+      }
+      if (remaining == 0) {
+        try {
+          Files.deleteIfExists(entriesDirectory);
+        } catch (IOException ignore) {
+          /* not empty */
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the given operation under the exclusive lock of the store.
+   *
+   * @param operation the operation.
+   * @param <T> the type of the result.
+   * @return the result of the operation.
+   * @throws IOException if the lock cannot be acquired or the operation fails.
+   */
+  private synchronized <T> T locked(Operation<T> operation) throws IOException {
+    Files.createDirectories(directory);
+    try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+      return operation.run();
+    }
+  }
+
+  private Path getObject(String digest) {
+    return objectsDirectory.resolve(digest + OBJECT_SUFFIX);
+  }
+
+  /**
+   * Returns the name of the entry of the given expression values.
+   *
+   * @param values the resolved expressions mapped to their values.
+   * @return the hex encoded digest of the values.
+   */
+  private static String getEntryName(Map<String, String> values) {
+    MessageDigest digest = Fingerprint.newDigest();
+    for (Map.Entry<String, String> value : values.entrySet()) {
+      digest.update(value.getKey().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(value.getValue().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+    return Fingerprint.toHex(digest.digest());
+  }
+
+  /**
+   * Lists the files of the given directory having the given suffix.
+   *
+   * @param dir the directory.
+   * @param suffix the suffix of the file names.
+   * @return the files, empty if the directory does not exist.
+   * @throws IOException if the directory cannot be read.
+   */
+  private static List<Path> list(Path dir, String suffix) throws IOException {
+    List<Path> files = new ArrayList<>();
+    if (!Files.isDirectory(dir)) {
+      return files;
+    }
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+      for (Path file : stream) {
+        if (file.getFileName().toString().endsWith(suffix)) {
+          files.add(file);
+        }
+      }
+    }
+    return files;
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * An operation on the store run under its lock.
+   *
+   * @param <T> the type of the result.
+   */
+  private interface Operation<T> {
+
+    /**
+     * Runs the operation.
+     *
+     * @return the result.
+     * @throws IOException if anything goes wrong.
+     */
+    T run() throws IOException;
+
+  }
+
+}
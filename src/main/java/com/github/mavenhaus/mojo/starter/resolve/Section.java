@@ -0,0 +1,74 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * This enum contains the sections of the model which can be pruned from the resolved POM by the {@link ModelPruner}
+ * because the consumers of the published POM do not need them to resolve the dependencies.
+ */
+public enum Section {
+
+  /**
+   * The <code>build</code> of the project and of its profiles. Do not prune it from a parent POM whose build is
+   * inherited by projects outside of the reactor.
+   */
+  build,
+
+  /**
+   * The <code>reporting</code> of the project and of its profiles.
+   */
+  reporting,
+
+  /**
+   * The <code>profiles</code>. Do not prune them if a profile contributes dependencies to the consumers.
+   */
+  profiles,
+
+  /**
+   * The <code>pluginRepositories</code> of the project and of its profiles.
+   */
+  pluginRepositories,
+
+  /**
+   * The <code>developers</code>.
+   */
+  developers,
+
+  /**
+   * The <code>contributors</code>.
+   */
+  contributors,
+
+  /**
+   * The <code>mailingLists</code>.
+   */
+  mailingLists,
+
+  /**
+   * The <code>issueManagement</code>.
+   */
+  issueManagement,
+
+  /**
+   * The <code>ciManagement</code>.
+   */
+  ciManagement
+
+}
@@ -0,0 +1,96 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * This is the session scoped trace file in the Chrome trace-event format (JSON array format) collecting the
+ * {@link TimingReport#toTraceEvents() events} of all the projects of the session.
+ * The file is truncated by the first project of the session and the events of every project are appended as soon
+ * as they are available. The closing <code>]</code> is never written which the format allows, so the file can be
+ * loaded at any time, e.g. in <code>chrome://tracing</code> or in Perfetto.
+ */
+public final class SessionTrace {
+
+  private static final String SESSION_KEY = SessionTrace.class.getName();
+
+  private final File file;
+
+  private boolean started;
+
+  /**
+   * Creates a new instance of {@link SessionTrace}.
+   *
+   * @param file the trace file.
+   */
+  private SessionTrace(File file) {
+    this.file = file;
+    this.started = false;
+  }
+
+  /**
+   * Returns the {@link SessionTrace} of the given file in the given session.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param file the trace file.
+   * @return the {@link SessionTrace}.
+   */
+  public static SessionTrace of(MavenSession session, File file) {
+    Map<File, SessionTrace> traces = SessionCache.get(session, SESSION_KEY);
+    return traces.computeIfAbsent(file.getAbsoluteFile(), SessionTrace::new);
+  }
+
+  /**
+   * Returns the trace file.
+   *
+   * @return the trace file.
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Appends the given events to the trace file.
+   *
+   * @param events the trace events separated by commas.
+   * @throws IOException if the file cannot be written.
+   */
+  public synchronized void append(String events) throws IOException {
+    if (!started) {
+      File parentDir = file.getParentFile();
+      if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs()) {
+        throw new IOException("Failed to create directory " + parentDir);
+      }
+      Files.write(file.toPath(), ("[\n" + events).getBytes(StandardCharsets.UTF_8));
+      started = true;
+    } else {
+      Files.write(file.toPath(), (",\n" + events).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+  }
+
+}
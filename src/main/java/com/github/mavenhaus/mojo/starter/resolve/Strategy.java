@@ -0,0 +1,38 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * This enum contains the strategies how the parameter expressions are found when {@link Mojo generating the resolved POM}.
+ */
+public enum Strategy {
+
+  /**
+   * Walks the string values of the resolved model, including the plugin configurations, resolves the expressions in
+   * place and serializes the model once.
+   */
+  model,
+
+  /**
+   * Serializes the resolved model and resolves the expressions found in the serialized text.
+   */
+  text
+
+}
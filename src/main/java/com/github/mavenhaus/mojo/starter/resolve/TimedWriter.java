@@ -0,0 +1,114 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This {@link Writer} accounts the time spent in the underlying {@link Writer} to a {@link Phase} of a
+ * {@link PhaseTimer}.
+ */
+class TimedWriter extends FilterWriter {
+
+  private final PhaseTimer timer;
+
+  private final Phase phase;
+
+  /**
+   * Creates a new instance of {@link TimedWriter}.
+   *
+   * @param out the underlying {@link Writer}.
+   * @param timer the {@link PhaseTimer}.
+   * @param phase the {@link Phase} of the time spent in the underlying {@link Writer}.
+   */
+  TimedWriter(Writer out, PhaseTimer timer, Phase phase) {
+    super(out);
+    this.timer = timer;
+    this.phase = phase;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(int c) throws IOException {
+    timer.enter(phase);
+    try {
+      out.write(c);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    timer.enter(phase);
+    try {
+      out.write(cbuf, off, len);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    timer.enter(phase);
+    try {
+      out.write(str, off, len);
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush() throws IOException {
+    timer.enter(phase);
+    try {
+      out.flush();
+    } finally {
+      timer.exit();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() throws IOException {
+    timer.enter(phase);
+    try {
+      out.close();
+    } finally {
+      timer.exit();
+    }
+  }
+
+}
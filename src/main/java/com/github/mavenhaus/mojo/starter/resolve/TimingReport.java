@@ -0,0 +1,205 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * This class renders the timings measured by a {@link PhaseTimer} as a one-line summary, as a JSON report of a
+ * project and as events of the Chrome trace-event format.
+ * In the trace the phases of a project are laid out one after the other below the event of the project, each
+ * lasting the time accounted to it.
+ */
+public final class TimingReport {
+
+  private static final double NANOS_PER_MILLI = 1000000.0;
+
+  private static final double NANOS_PER_MICRO = 1000.0;
+
+  private static final int TRACE_PROCESS_ID = 1;
+
+  private final String projectId;
+
+  private final boolean upToDate;
+
+  private final PhaseTimer timer;
+
+  private final Thread thread;
+
+  /**
+   * Creates a new instance of {@link TimingReport} for the current thread.
+   *
+   * @param projectId the id of the project the resolved POM is generated for.
+   * @param upToDate whether the resolved POM was up to date.
+   * @param timer the stopped {@link PhaseTimer}.
+   */
+  public TimingReport(String projectId, boolean upToDate, PhaseTimer timer) {
+    this.projectId = projectId;
+    this.upToDate = upToDate;
+    this.timer = timer;
+    this.thread = Thread.currentThread();
+  }
+
+  /**
+   * Returns the one-line summary of the timings.
+   *
+   * @return the summary.
+   */
+  public String toSummary() {
+    StringBuilder summary = new StringBuilder();
+    summary.append("Timings of ").append(projectId).append(": ").append(formatMillis(timer.getTotalNanos()));
+    if (upToDate) {
+      summary.append(" (up to date)");
+    }
+    String separator = " [";
+    for (Phase phase : Phase.values()) {
+      if (timer.getNanos(phase) == 0) {
+        continue;
+      }
+      summary.append(separator).append(phase.getLabel()).append(' ').append(formatMillis(timer.getNanos(phase)));
+      if (phase == Phase.evaluation) {
+        summary.append(" in ").append(timer.getEvaluations()).append(" calls");
+      }
+      separator = ", ";
+    }
+    if (!separator.equals(" [")) {
+      summary.append(']');
+    }
+    return summary.toString();
+  }
+
+  /**
+   * Writes the JSON report of the project to the given file.
+   *
+   * @param file the {@link File} to write to.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(File file) throws IOException {
+    StringBuilder json = new StringBuilder();
+    json.append("{\n");
+    json.append("  \"project\": ").append(quote(projectId)).append(",\n");
+    json.append("  \"thread\": ").append(quote(thread.getName())).append(",\n");
+    json.append("  \"upToDate\": ").append(upToDate).append(",\n");
+    json.append("  \"totalNanos\": ").append(timer.getTotalNanos()).append(",\n");
+    json.append("  \"evaluations\": ").append(timer.getEvaluations()).append(",\n");
+    json.append("  \"phaseNanos\": {");
+    String separator = "\n";
+    for (Phase phase : Phase.values()) {
+      json.append(separator).append("    ").append(quote(phase.name())).append(": ").append(timer.getNanos(phase));
+      separator = ",\n";
+    }
+    json.append("\n  }\n");
+    json.append("}\n");
+    Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the events of the project in the Chrome trace-event format, separated by commas.
+   *
+   * @return the trace events.
+   */
+  public String toTraceEvents() {
+    StringBuilder events = new StringBuilder();
+    long threadId = thread.getId();
+    events.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(TRACE_PROCESS_ID)
+        .append(",\"tid\":").append(threadId)
+        .append(",\"args\":{\"name\":").append(quote(thread.getName())).append("}}");
+
+    long start = timer.getStartNanos();
+    appendCompleteEvent(events, projectId, "project", threadId, start, timer.getTotalNanos(),
+        "{\"upToDate\":" + upToDate + ",\"evaluations\":" + timer.getEvaluations() + "}");
+
+    for (Phase phase : Phase.values()) {
+      long duration = timer.getNanos(phase);
+      if (duration == 0) {
+        continue;
+      }
+      appendCompleteEvent(events, phase.getLabel(), "phase", threadId, start, duration, null);
+      start += duration;
+    }
+    return events.toString();
+  }
+
+  private static void appendCompleteEvent(StringBuilder events, String name, String category, long threadId,
+      long startNanos, long durationNanos, String args) {
+    events.append(",\n{\"name\":").append(quote(name))
+        .append(",\"cat\":").append(quote(category))
+        .append(",\"ph\":\"X\",\"pid\":").append(TRACE_PROCESS_ID)
+        .append(",\"tid\":").append(threadId)
+        .append(",\"ts\":").append(formatMicros(startNanos))
+        .append(",\"dur\":").append(formatMicros(durationNanos));
+    if (args != null) {
+      events.append(",\"args\":").append(args);
+    }
+    events.append('}');
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f ms", nanos / NANOS_PER_MILLI);
+  }
+
+  private static String formatMicros(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MICRO);
+  }
+
+  /**
+   * Returns the given string as JSON string literal.
+   *
+   * @param value the string.
+   * @return the JSON string literal.
+   */
+  static String quote(String value) {
+    StringBuilder quoted = new StringBuilder(value.length() + 2);
+    quoted.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          quoted.append("\\\"");
+          break;
+        case '\\':
+          quoted.append("\\\\");
+          break;
+        case '\n':
+          quoted.append("\\n");
+          break;
+        case '\r':
+          quoted.append("\\r");
+          break;
+        case '\t':
+          quoted.append("\\t");
+          break;
+        default:
+          if (c < ' ') {
+            quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+          } else {
+            quoted.append(c);
+          }
+          break;
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+}
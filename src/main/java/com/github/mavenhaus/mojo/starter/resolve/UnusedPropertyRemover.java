@@ -0,0 +1,144 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.maven.model.Model;
+
+/**
+ * This class removes the properties of a resolved model which no expression surviving the resolution references.
+ * The reference index is built from the expressions of the model, its profiles and the header comment which the
+ * {@link MatcherSet matchers} keep, then extended by the expressions of the referenced properties until no new
+ * property is found. The expressions the {@link MatcherSet matchers} resolve do not reference any property as they
+ * are replaced by their values. The properties matching the allowlist are always kept.<br>
+ * As the name of a nested expression like <code>${lib.${flavour}.version}</code> is only known once evaluated, no
+ * property is removed if such an expression survives.
+ */
+public class UnusedPropertyRemover {
+
+  private static final String PARAM_START = "${";
+
+  private static final String PARAM_END = "}";
+
+  private final MatcherSet matcherSet;
+
+  private final MatcherSet allowlist;
+
+  /**
+   * Creates a new instance of {@link UnusedPropertyRemover}.
+   *
+   * @param matcherSet the compiled {@link Matcher matchers} the resolved model is resolved with.
+   * @param allowlist the compiled {@link Matcher matchers} of the properties to be always kept.
+   */
+  public UnusedPropertyRemover(MatcherSet matcherSet, MatcherSet allowlist) {
+    this.matcherSet = matcherSet;
+    this.allowlist = allowlist;
+  }
+
+  /**
+   * Removes the unreferenced properties of the given model in place.
+   *
+   * @param model the resolved model to be changed.
+   * @param headerComment the header comment which will be injected, may be <code>null</code>.
+   * @return the sorted names of the removed properties.
+   * @throws IOException if the model cannot be visited.
+   */
+  public Set<String> remove(Model model, String headerComment) throws IOException {
+    Properties properties = model.getProperties();
+    if (properties.isEmpty()) {
+      return new TreeSet<>();
+    }
+
+    References references = new References();
+    ModelParameterResolver collector = new ModelParameterResolver(references);
+    model.setProperties(new Properties());
+    try {
+      collector.resolve(model);
+    } finally {
+      model.setProperties(properties);
+    }
+    collector.resolve(headerComment);
+
+    Deque<String> pending = new ArrayDeque<>(references.names);
+    for (String name : properties.stringPropertyNames()) {
+      if (allowlist.indexOf(name) != MatcherSet.NO_MATCH) {
+        pending.add(name);
+      }
+    }
+    Set<String> used = new HashSet<>();
+    while (!pending.isEmpty() && !references.nested) {
+      String name = pending.poll();
+      String value = properties.getProperty(name);
+      if (value != null && used.add(name)) {
+        references.names.clear();
+        collector.resolve(value);
+        pending.addAll(references.names);
+      }
+    }
+    if (references.nested) {
+      return new TreeSet<>();
+    }
+
+    Set<String> removed = new TreeSet<>();
+    for (String name : properties.stringPropertyNames()) {
+      if (!used.contains(name)) {
+        properties.remove(name);
+        removed.add(name);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * This {@link ParameterResolvingWriter.Resolver} collects the names of the expressions the {@link #matcherSet}
+   * does not resolve and keeps every expression unchanged.
+   */
+  private final class References implements ParameterResolvingWriter.Resolver {
+
+    private final Set<String> names = new HashSet<>();
+
+    private boolean nested;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String resolve(String expression) {
+      String name = expression.substring(PARAM_START.length(), expression.length() - PARAM_END.length());
+      int index = matcherSet.indexOf(name);
+      if (index == MatcherSet.NO_MATCH || matcherSet.getAction(index) != Action.resolve) {
+        if (name.contains(PARAM_START)) {
+          nested = true;
+        } else {
+          names.add(name);
+        }
+      }
+      return expression;
+    }
+
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * This is the session scoped, thread-safe cache of the rendered values of the parameter expressions.
+ * Expressions taken from the user or system properties (e.g. <code>-Drevision=...</code>) evaluate to the same
+ * value in every project and are shared across the reactor, all the other values are kept per project.
+ */
+public final class ValueCache {
+
+  private static final String SESSION_KEY = ValueCache.class.getName();
+
+  /**
+   * The roots handled by the evaluator before the user or system properties are looked up.
+   */
+  private static final Set<String> EVALUATOR_ROOTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+      "localRepository", "session", "reactorProjects", "repositorySystemSession", "project", "pom",
+      "executedProject", "mojoExecution", "mojo", "plugin", "settings", "basedir")));
+
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  /**
+   * The values of the project independent expressions.
+   */
+  private final ConcurrentMap<String, String> sharedValues;
+
+  /**
+   * The values of the project dependent expressions keyed by project id and expression.
+   */
+  private final ConcurrentMap<String, String> projectValues;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * Creates a new instance of {@link ValueCache}.
+   */
+  private ValueCache() {
+    sharedValues = new ConcurrentHashMap<>();
+    projectValues = new ConcurrentHashMap<>();
+    hits = new LongAdder();
+    misses = new LongAdder();
+  }
+
+  /**
+   * Returns the {@link ValueCache} of the given session.
+   *
+   * @param session the current {@link MavenSession}.
+   * @return the {@link ValueCache}.
+   */
+  public static ValueCache of(MavenSession session) {
+    return SessionCache.get(session, SESSION_KEY, ValueCache::new);
+  }
+
+  /**
+   * Returns whether the value of the given expression is the same for all the projects of the session.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @return <code>true</code> if the value does not depend on the project.
+   */
+  static boolean isProjectIndependent(MavenSession session, String expression) {
+    String name = expression.substring(2, expression.length() - 1);
+    int dot = name.indexOf('.');
+    String root = dot < 0 ? name : name.substring(0, dot);
+    if (EVALUATOR_ROOTS.contains(root)) {
+      return false;
+    }
+    return session.getUserProperties().containsKey(name) || session.getSystemProperties().containsKey(name);
+  }
+
+  /**
+   * Returns the cached value of the given expression.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param project the project the expression is evaluated for.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @return the cached value or <code>null</code> if not cached.
+   */
+  public String get(MavenSession session, MavenProject project, String expression) {
+    String value;
+    if (isProjectIndependent(session, expression)) {
+      value = sharedValues.get(expression);
+    } else {
+      value = projectValues.get(getProjectKey(project, expression));
+    }
+
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Caches the value of the given expression.
+   *
+   * @param session the current {@link MavenSession}.
+   * @param project the project the expression has been evaluated for.
+   * @param expression the expression including <code>${</code> and <code>}</code>.
+   * @param value the rendered value.
+   */
+  public void put(MavenSession session, MavenProject project, String expression, String value) {
+    if (isProjectIndependent(session, expression)) {
+      sharedValues.putIfAbsent(expression, value);
+    } else {
+      projectValues.putIfAbsent(getProjectKey(project, expression), value);
+    }
+  }
+
+  private static String getProjectKey(MavenProject project, String expression) {
+    return project.getId() + KEY_SEPARATOR + expression;
+  }
+
+  /**
+   * Returns the number of cache hits.
+   *
+   * @return the number of cache hits.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of cache misses.
+   *
+   * @return the number of cache misses.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+}
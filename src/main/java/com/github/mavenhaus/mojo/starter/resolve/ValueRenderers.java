@@ -0,0 +1,242 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.github.mavenhaus.mojo.starter.SessionCache;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
+
+/**
+ * This is the session scoped registry of the {@link Renderer renderers} turning the objects returned by the
+ * expression evaluator into the strings written to the resolved POM.
+ * The renderer of a class is looked up once and then dispatched by the class of the value. The rendered forms of the
+ * expensive types, the {@link MavenProject} and the {@link Settings} serialized as XML, are cached per object identity
+ * for the session, so an object reached by several expressions or from several projects is serialized only once.
+ */
+public final class ValueRenderers {
+
+  private static final String SESSION_KEY = ValueRenderers.class.getName();
+
+  /**
+   * The initial size of the buffer the XML forms are rendered into.
+   */
+  private static final int XML_BUFFER_SIZE = 8192;
+
+  /**
+   * The {@link Renderer} of the unsupported types.
+   */
+  private static final Registration UNSUPPORTED = new Registration(Object.class, value -> null, false);
+
+  /**
+   * The registered renderers, the first one whose type matches the value is used.
+   */
+  private final List<Registration> registrations;
+
+  /**
+   * The registration looked up for each class of value.
+   */
+  private final ConcurrentMap<Class<?>, Registration> dispatch;
+
+  /**
+   * The rendered forms of the cached types keyed by object identity.
+   */
+  private final ConcurrentMap<Identity, String> rendered;
+
+  private final LongAdder renderings;
+
+  /**
+   * Creates a new instance of {@link ValueRenderers} with the default renderers.
+   */
+  private ValueRenderers() {
+    registrations = new ArrayList<>();
+    dispatch = new ConcurrentHashMap<>();
+    rendered = new ConcurrentHashMap<>();
+    renderings = new LongAdder();
+
+    register(String.class, String::toString, false);
+    register(Boolean.class, Object::toString, false);
+    register(Byte.class, Object::toString, false);
+    register(Character.class, Object::toString, false);
+    register(Double.class, Object::toString, false);
+    register(Float.class, Object::toString, false);
+    register(Integer.class, Object::toString, false);
+    register(Long.class, Object::toString, false);
+    register(Short.class, Object::toString, false);
+    register(File.class, File::getAbsolutePath, false);
+    register(MavenProject.class, ValueRenderers::renderProject, true);
+    register(Settings.class, ValueRenderers::renderSettings, true);
+  }
+
+  /**
+   * Returns the {@link ValueRenderers} of the given session.
+   *
+   * @param session the current {@link MavenSession}.
+   * @return the {@link ValueRenderers}.
+   */
+  public static ValueRenderers of(MavenSession session) {
+    return SessionCache.get(session, SESSION_KEY, ValueRenderers::new);
+  }
+
+  /**
+   * Registers a {@link Renderer}.
+   *
+   * @param type the type of the values rendered.
+   * @param renderer the {@link Renderer}.
+   * @param cached whether the rendered forms have to be cached per object identity.
+   * @param <T> the type of the values rendered.
+   */
+  private <T> void register(Class<T> type, Renderer<? super T> renderer, boolean cached) {
+    registrations.add(new Registration(type, renderer, cached));
+  }
+
+  /**
+   * Renders the given value.
+   *
+   * @param value the value returned by the evaluator, not <code>null</code>.
+   * @return the rendered value or <code>null</code> if its type is not supported.
+   * @throws IOException if the value cannot be rendered.
+   */
+  public String render(Object value) throws IOException {
+    Registration registration = dispatch.computeIfAbsent(value.getClass(), this::lookup);
+    if (!registration.cached) {
+      return registration.render(value);
+    }
+
+    Identity identity = new Identity(value);
+    String text = rendered.get(identity);
+    if (text == null) {
+      renderings.increment();
+      text = registration.render(value);
+      String previous = rendered.putIfAbsent(identity, text);
+      if (previous != null) {
+        text = previous;
+      }
+    }
+    return text;
+  }
+
+  private Registration lookup(Class<?> type) {
+    for (Registration registration : registrations) {
+      if (registration.type.isAssignableFrom(type)) {
+        return registration;
+      }
+    }
+    return UNSUPPORTED;
+  }
+
+  /**
+   * Returns the number of values of the cached types which have been rendered.
+   *
+   * @return the number of values of the cached types which have been rendered.
+   */
+  public long getRenderings() {
+    return renderings.sum();
+  }
+
+  private static String renderProject(MavenProject project) throws IOException {
+    StringWriter stringWriter = new StringWriter(XML_BUFFER_SIZE);
+    new MavenXpp3Writer().write(stringWriter, project.getModel());
+    return stringWriter.toString();
+  }
+
+  private static String renderSettings(Settings settings) throws IOException {
+    StringWriter stringWriter = new StringWriter(XML_BUFFER_SIZE);
+    new SettingsXpp3Writer().write(stringWriter, settings);
+    return stringWriter.toString();
+  }
+
+  /**
+   * This interface renders a value as string.
+   *
+   * @param <T> the type of the values rendered.
+   */
+  @FunctionalInterface
+  public interface Renderer<T> {
+
+    /**
+     * Renders the given value.
+     *
+     * @param value the value.
+     * @return the rendered value or <code>null</code> if it cannot be rendered.
+     * @throws IOException if the value cannot be rendered.
+     */
+    String render(T value) throws IOException;
+
+  }
+
+  /**
+   * This is a {@link Renderer} registered for a type.
+   */
+  private static final class Registration {
+
+    private final Class<?> type;
+
+    private final Renderer<Object> renderer;
+
+    private final boolean cached;
+
+    @SuppressWarnings("unchecked")
+    private Registration(Class<?> type, Renderer<?> renderer, boolean cached) {
+      this.type = type;
+      this.renderer = (Renderer<Object>) renderer;
+      this.cached = cached;
+    }
+
+    private String render(Object value) throws IOException {
+      return renderer.render(value);
+    }
+
+  }
+
+  /**
+   * This is the key of an object compared by identity.
+   */
+  private static final class Identity {
+
+    private final Object object;
+
+    private Identity(Object object) {
+      this.object = object;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Identity && ((Identity) other).object == object;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(object);
+    }
+
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link AtomicFileWriter}: the digest of the existing target file computed concurrently is only an
+ * optimization, a failure to compute it falls back to reading the target file.
+ */
+public class AtomicFileWriterTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Checks that an unchanged target file is kept although its concurrent digest failed.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void keepsUnchangedFileAfterFailedDigest() throws IOException {
+    File file = folder.newFile();
+    Files.write(file.toPath(), "1.2.3.4".getBytes(StandardCharsets.UTF_8));
+    assertThat(write(file, "1.2.3.4", failedDigest())).isFalse();
+    assertThat(folder.getRoot().list()).containsExactly(file.getName());
+  }
+
+  /**
+   * Checks that a changed target file is replaced although its concurrent digest failed.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void replacesChangedFileAfterFailedDigest() throws IOException {
+    File file = folder.newFile();
+    Files.write(file.toPath(), "1.2.3.4".getBytes(StandardCharsets.UTF_8));
+    assertThat(write(file, "9.9.9.9", failedDigest())).isTrue();
+    assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo("9.9.9.9");
+    assertThat(folder.getRoot().list()).containsExactly(file.getName());
+  }
+
+  private static boolean write(File file, String content, CompletableFuture<byte[]> existingDigest)
+      throws IOException {
+    AtomicFileWriter writer = new AtomicFileWriter(file, StandardCharsets.UTF_8);
+    try {
+      writer.setExistingDigest(existingDigest);
+      writer.write(content);
+      return writer.commit();
+    } finally {
+      writer.discard();
+    }
+  }
+
+  private static CompletableFuture<byte[]> failedDigest() {
+    CompletableFuture<byte[]> digest = new CompletableFuture<>();
+    digest.completeExceptionally(new IOException("Stale file handle"));
+    return digest;
+  }
+
+}
@@ -0,0 +1,118 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ExpressionGraph}: the result of an expression does not depend on the path it is first reached
+ * from.
+ */
+public class ExpressionGraphTest {
+
+  private static final int MAX_DEPTH = 3;
+
+  private final Map<String, String> values = new HashMap<>();
+
+  private int lookups;
+
+  private final ExpressionGraph graph = new ExpressionGraph(expression -> {
+    lookups++;
+    return values.getOrDefault(expression, expression);
+  }, MAX_DEPTH, new SystemStreamLog());
+
+  /**
+   * Checks that a chain cut off by the maximum depth when reached deep in the path is resolved when reached again from
+   * the top level.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void resolvesChainCutOffDeeper() throws IOException {
+    values.put("${a}", "${b}");
+    values.put("${b}", "${c1}");
+    values.put("${c1}", "${c2}");
+    values.put("${c2}", "${c3}");
+    values.put("${c3}", "1.2.3.4");
+
+    assertThat(graph.resolve("${a}")).isEqualTo("${c2}");
+    assertThat(graph.resolve("${c1}")).isEqualTo("1.2.3.4");
+    assertThat(graph.resolve("${c2}")).isEqualTo("1.2.3.4");
+    assertThat(graph.resolve("${a}")).isEqualTo("${c2}");
+    // the results not depending on a cut-off are memoized
+    int previousLookups = lookups;
+    assertThat(graph.resolve("${c1}")).isEqualTo("1.2.3.4");
+    assertThat(lookups).isEqualTo(previousLookups);
+  }
+
+  /**
+   * Checks that a chain resolved from the top level first is not reused where it exceeds the maximum depth.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void resolvesChainCutOffDeeperAfterTopLevel() throws IOException {
+    values.put("${a}", "${b}");
+    values.put("${b}", "${c1}");
+    values.put("${c1}", "${c2}");
+    values.put("${c2}", "${c3}");
+    values.put("${c3}", "1.2.3.4");
+
+    assertThat(graph.resolve("${c1}")).isEqualTo("1.2.3.4");
+    assertThat(graph.resolve("${a}")).isEqualTo("${c2}");
+    assertThat(graph.resolve("${b}")).isEqualTo("${c3}");
+  }
+
+  /**
+   * Checks that an expression depending on itself is kept unchanged whichever expression of the cycle is resolved
+   * first.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void keepsCycle() throws IOException {
+    values.put("${a}", "${b}");
+    values.put("${b}", "${a}");
+
+    assertThat(graph.resolve("${a}")).isEqualTo("${a}");
+    assertThat(graph.resolve("${b}")).isEqualTo("${b}");
+  }
+
+  /**
+   * Checks that nested expressions are resolved first.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void resolvesNestedExpressions() throws IOException {
+    values.put("${env}", "prod");
+    values.put("${url.prod}", "https://${host}");
+    values.put("${host}", "example.org");
+
+    assertThat(graph.resolve("${url.${env}}")).isEqualTo("https://example.org");
+  }
+
+}
@@ -0,0 +1,122 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link FileStateCache}: a value is loaded again when the state of its file changes or, if the file has
+ * been modified within the {@link FileStateCache#RACY_WINDOW_MILLIS} before the access, when its content changes, and
+ * is trusted otherwise.
+ */
+public class FileStateCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final FileStateCache<String> cache = new FileStateCache<>("Test", 16);
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  /**
+   * Checks that the content of a file modified within the racy window is verified on each access, so that an edit
+   * keeping its size and modification time is seen while an unchanged file is not loaded again.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void verifiesContentOfRacyFile() throws IOException {
+    File file = folder.newFile();
+    FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis());
+    write(file, "1.2.3.4", lastModified);
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+    assertThat(loads.get()).isEqualTo(1);
+
+    write(file, "9.9.9.9", lastModified);
+    assertThat(get(file)).isEqualTo("9.9.9.9");
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  /**
+   * Checks that the value of a file older than the racy window is trusted as long as its size and modification time
+   * are unchanged, even if its content has changed: this is the documented trade-off of the cache.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void trustsStateAfterRacyWindow() throws IOException {
+    File file = folder.newFile();
+    FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - 5 * FileStateCache.RACY_WINDOW_MILLIS);
+    write(file, "1.2.3.4", lastModified);
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+    assertThat(loads.get()).isEqualTo(1);
+
+    write(file, "9.9.9.9", lastModified);
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  /**
+   * Checks that a change of the size or of the modification time loads the value again.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void reloadsChangedFile() throws IOException {
+    File file = folder.newFile();
+    long now = System.currentTimeMillis();
+    write(file, "1.2.3.4", FileTime.fromMillis(now - 10 * FileStateCache.RACY_WINDOW_MILLIS));
+    assertThat(get(file)).isEqualTo("1.2.3.4");
+
+    write(file, "1.2.3.45", FileTime.fromMillis(now - 10 * FileStateCache.RACY_WINDOW_MILLIS));
+    assertThat(get(file)).isEqualTo("1.2.3.45");
+
+    write(file, "1.2.3.46", FileTime.fromMillis(now - 5 * FileStateCache.RACY_WINDOW_MILLIS));
+    assertThat(get(file)).isEqualTo("1.2.3.46");
+    assertThat(loads.get()).isEqualTo(3);
+  }
+
+  private String get(File file) throws IOException {
+    return cache.get(file, path -> {
+      loads.incrementAndGet();
+      return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    });
+  }
+
+  private static void write(File file, String content, FileTime lastModified) throws IOException {
+    Path path = file.toPath();
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(path, lastModified);
+  }
+
+}
@@ -0,0 +1,203 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ParameterResolvingWriter}: the text is resolved in a single pass whose time grows linearly with
+ * its length, and the buffer of the expression being scanned never grows past
+ * {@link ParameterResolvingWriter#MAX_EXPRESSION_LENGTH}.
+ */
+public class ParameterResolvingWriterTest {
+
+  /**
+   * The number of entries of the smaller text, the larger one has {@link #SCALE} times more.
+   */
+  private static final int ENTRIES = 20000;
+
+  private static final int SCALE = 8;
+
+  /**
+   * The maximum ratio of the times taken by the two texts: a linear pass takes {@link #SCALE} times longer, a quadratic
+   * one 64 times longer.
+   */
+  private static final double MAX_TIME_RATIO = SCALE * 3.0;
+
+  private static final int RUNS = 5;
+
+  private static final String REVISION = "${revision}";
+
+  /**
+   * Checks that the expressions are resolved and the others are written unchanged.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test
+  public void resolvesExpressions() throws IOException {
+    StringWriter out = new StringWriter();
+    try (Writer writer = new ParameterResolvingWriter(out, expression -> REVISION.equals(expression) ? "1.2.3" : expression)) {
+      writer.write("<version>${revision}</version><name>$${artifact.${suffix}}$</name>");
+    }
+    assertThat(out.toString()).isEqualTo("<version>1.2.3</version><name>$${artifact.${suffix}}$</name>");
+  }
+
+  /**
+   * Checks that an expression longer than {@link ParameterResolvingWriter#MAX_EXPRESSION_LENGTH} is written unchanged
+   * and that the expression buffer keeps its initial capacity.
+   *
+   * @throws Exception if anything goes wrong.
+   */
+  @Test
+  public void boundsExpressionBuffer() throws Exception {
+    StringBuilder text = new StringBuilder("${");
+    for (int i = 0; i < ParameterResolvingWriter.MAX_EXPRESSION_LENGTH * 10; i++) {
+      text.append(i % 100 == 0 ? "${" : "a");
+    }
+    text.append("}}");
+
+    StringWriter out = new StringWriter();
+    ParameterResolvingWriter writer = new ParameterResolvingWriter(out, expression -> {
+      assertThat(expression.length()).isLessThanOrEqualTo(ParameterResolvingWriter.MAX_EXPRESSION_LENGTH);
+      return expression;
+    });
+    for (int i = 0; i < text.length(); i++) {
+      writer.write(text.charAt(i));
+      assertThat(getExpressionBuffer(writer).capacity()).isLessThanOrEqualTo(ParameterResolvingWriter.MAX_EXPRESSION_LENGTH);
+    }
+    writer.write(text.toString());
+    assertThat(getExpressionBuffer(writer).capacity()).isLessThanOrEqualTo(ParameterResolvingWriter.MAX_EXPRESSION_LENGTH);
+    writer.close();
+
+    assertThat(out.toString()).isEqualTo(text.toString() + text.toString());
+  }
+
+  /**
+   * Checks that the time taken grows linearly with the length of the text. The texts mix resolved, nested, unterminated
+   * and over-long expressions, the best time of several runs is compared to filter out the noise. The timeout stops a
+   * quadratic pass, which would take minutes on the larger text.
+   *
+   * @throws IOException if anything goes wrong.
+   */
+  @Test(timeout = 120000)
+  public void scalesLinearly() throws IOException {
+    String small = createText(ENTRIES);
+    String large = createText(ENTRIES * SCALE);
+
+    // warm up
+    resolve(small);
+    resolve(large);
+
+    long smallNanos = bestTime(small);
+    long largeNanos = bestTime(large);
+    assertThat((double) largeNanos / smallNanos)
+        .as("time ratio of a text %d times longer (%d ns / %d ns)", SCALE, largeNanos, smallNanos)
+        .isLessThan(MAX_TIME_RATIO);
+  }
+
+  private static long bestTime(String text) throws IOException {
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      resolve(text);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+
+  private static long resolve(String text) throws IOException {
+    CountingWriter out = new CountingWriter();
+    try (Writer writer = new ParameterResolvingWriter(out, expression -> REVISION.equals(expression) ? "1.2.3" : expression)) {
+      writer.write(text);
+    }
+    return out.count;
+  }
+
+  private static String createText(int entries) {
+    StringBuilder text = new StringBuilder(entries * 64);
+    for (int i = 0; i < entries; i++) {
+      switch (i % 4) {
+        case 0:
+          text.append("<version>${revision}</version>\n");
+          break;
+        case 1:
+          text.append("<name>${artifact.${suffix}}-").append(i).append("</name>\n");
+          break;
+        case 2:
+          text.append("<price>$").append(i).append(" ${</price>\n");
+          break;
+        default:
+          text.append("<description>${");
+          for (int j = 0; j < ParameterResolvingWriter.MAX_EXPRESSION_LENGTH / 16; j++) {
+            text.append("long ");
+          }
+          text.append("</description>\n");
+      }
+    }
+    return text.toString();
+  }
+
+  private static StringBuilder getExpressionBuffer(ParameterResolvingWriter writer) throws ReflectiveOperationException {
+    Field field = ParameterResolvingWriter.class.getDeclaredField("expression");
+    field.setAccessible(true);
+    return (StringBuilder) field.get(writer);
+  }
+
+  /**
+   * This {@link Writer} only counts the characters written.
+   */
+  private static final class CountingWriter extends Writer {
+
+    private long count;
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      count += len;
+    }
+
+    @Override
+    public void write(int c) {
+      count++;
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      count += len;
+    }
+
+    @Override
+    public void flush() {
+      /* nothing to flush */
+    }
+
+    @Override
+    public void close() {
+      /* nothing to close */
+    }
+
+  }
+
+}
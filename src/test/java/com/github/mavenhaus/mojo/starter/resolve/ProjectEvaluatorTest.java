@@ -0,0 +1,148 @@
+package com.github.mavenhaus.mojo.starter.resolve;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ProjectEvaluator}: many evaluators bound to different projects run concurrently against one
+ * shared {@link MavenSession}, each of them sees its own project and the current project of the shared session never
+ * changes.
+ */
+public class ProjectEvaluatorTest {
+
+  private static final int PROJECTS = 64;
+
+  private static final int THREADS = 16;
+
+  private static final int ITERATIONS = 200;
+
+  /**
+   * Runs the evaluators of all the projects on several threads while another thread watches the current project of
+   * the shared session.
+   *
+   * @throws Exception if anything goes wrong.
+   */
+  @Test(timeout = 120000)
+  public void evaluatesConcurrentlyWithoutChangingTheSession() throws Exception {
+    List<MavenProject> projects = new ArrayList<>(PROJECTS);
+    for (int i = 0; i < PROJECTS; i++) {
+      projects.add(createProject(i));
+    }
+    MavenProject currentProject = createProject(-1);
+    MavenSession session = createSession(projects, currentProject);
+    MojoExecution mojoExecution = new MojoExecution(new MojoDescriptor());
+
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicInteger sessionChanges = new AtomicInteger();
+    Thread watcher = new Thread(() -> {
+      while (running.get()) {
+        if (session.getCurrentProject() != currentProject) {
+          sessionChanges.incrementAndGet();
+        }
+      }
+    }, "session-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int offset = thread;
+        results.add(executor.submit((Callable<Integer>) () -> {
+          start.await();
+          int evaluations = 0;
+          for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            MavenProject project = projects.get((offset + iteration) % PROJECTS);
+            ProjectEvaluator evaluator = new ProjectEvaluator(session, project, mojoExecution);
+            assertThat(evaluator.getProject()).isSameAs(project);
+            assertThat(evaluator.evaluate("${project.artifactId}")).isEqualTo(project.getArtifactId());
+            assertThat(evaluator.evaluate("${project.version}")).isEqualTo(project.getVersion());
+            assertThat(evaluator.evaluate("${basedir}")).isEqualTo(project.getBasedir().getAbsolutePath());
+            evaluations += 3;
+          }
+          return evaluations;
+        }));
+      }
+      start.countDown();
+
+      int evaluations = 0;
+      for (Future<Integer> result : results) {
+        evaluations += result.get();
+      }
+      assertThat(evaluations).isEqualTo(THREADS * ITERATIONS * 3);
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+      running.set(false);
+      watcher.join();
+    }
+
+    assertThat(sessionChanges.get()).as("changes of the current project of the shared session").isZero();
+    assertThat(session.getCurrentProject()).isSameAs(currentProject);
+  }
+
+  private static MavenProject createProject(int index) {
+    Model model = new Model();
+    model.setGroupId("com.github.mavenhaus.starter.tests");
+    model.setArtifactId("module-" + index);
+    model.setVersion("1." + index);
+    MavenProject project = new MavenProject(model);
+    project.setFile(new File(new File("target", "module-" + index), "pom.xml").getAbsoluteFile());
+    return project;
+  }
+
+  private static MavenSession createSession(List<MavenProject> projects, MavenProject currentProject) {
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    request.setSystemProperties(new Properties());
+    request.setUserProperties(new Properties());
+    MavenSession session = new MavenSession(null, new DefaultRepositorySystemSession(), request,
+        new DefaultMavenExecutionResult());
+    session.setProjects(projects);
+    session.setCurrentProject(currentProject);
+    return session;
+  }
+
+}